@@ -1,18 +1,32 @@
 package com.proyecto.application.port.in;
 
 import com.proyecto.domain.model.Game;
+import com.proyecto.domain.model.GameSuggestion;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface GameServiceInterface {
 
     List<Game> searchGamesByName(String name);
 
+    List<Game> searchGamesByNameFuzzy(String name);
+
     Optional<Game> getGameById(Long id);
 
     List<Game> getGamesByIds(List<Long> ids);
 
     Page<Game> filterGames(String filter, String sort, Integer limit, Integer offset);
+
+    List<GameSuggestion> suggestGames(String prefix, Integer limit);
+
+    CompletableFuture<List<Game>> searchGamesByNameAsync(String name);
+
+    CompletableFuture<Optional<Game>> getGameByIdAsync(Long id);
+
+    CompletableFuture<List<Game>> getGamesByIdsAsync(List<Long> ids);
+
+    CompletableFuture<Page<Game>> filterGamesAsync(String filter, String sort, Integer limit, Integer offset);
 }
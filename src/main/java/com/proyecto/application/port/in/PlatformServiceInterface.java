@@ -2,8 +2,11 @@ package com.proyecto.application.port.in;
 
 import com.proyecto.domain.model.Platform;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface PlatformServiceInterface {
 
     List<Platform> listPlatforms();
+
+    CompletableFuture<List<Platform>> listPlatformsAsync();
 }
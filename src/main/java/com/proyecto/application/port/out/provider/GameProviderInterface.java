@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Puerto de salida (driven port) para obtener datos de juegos desde un proveedor externo.
@@ -35,6 +36,15 @@ public interface GameProviderInterface {
      */
     List<Game> searchByName(String name);
 
+    /**
+     * Busca juegos por su nombre tolerando errores tipográficos (ej. "zelad" encuentra "Zelda").
+     * Un proveedor sin búsqueda aproximada puede comportarse como {@link #searchByName(String)}.
+     *
+     * @param name El nombre (o parte del nombre) a buscar, quizá mal escrito.
+     * @return Una lista de juegos que coinciden con la búsqueda o con su corrección.
+     */
+    List<Game> searchByNameFuzzy(String name);
+
     /**
      * Filtra juegos utilizando una consulta de filtrado avanzada.
      *
@@ -45,4 +55,39 @@ public interface GameProviderInterface {
      * @return Una página de juegos que coinciden con los criterios de filtrado.
      */
     Page<Game> filterGames(String filter, String sort, Integer limit, Integer offset);
+
+    /**
+     * Variante asíncrona de {@link #findByExternalId(Long)}: no bloquea el hilo que la invoca.
+     *
+     * @param externalId El ID del juego en el sistema del proveedor (ej. IGDB).
+     * @return Un futuro que se completa con el juego, o con un Optional vacío si no se encuentra.
+     */
+    CompletableFuture<Optional<Game>> findByExternalIdAsync(Long externalId);
+
+    /**
+     * Variante asíncrona de {@link #findMultipleByExternalIds(List)}.
+     *
+     * @param externalIds Una lista de ID de juegos en el sistema del proveedor.
+     * @return Un futuro que se completa con los juegos que coinciden con los ID proporcionados.
+     */
+    CompletableFuture<List<Game>> findMultipleByExternalIdsAsync(List<Long> externalIds);
+
+    /**
+     * Variante asíncrona de {@link #searchByName(String)}.
+     *
+     * @param name El nombre (o parte del nombre) a buscar.
+     * @return Un futuro que se completa con los juegos que coinciden con la búsqueda.
+     */
+    CompletableFuture<List<Game>> searchByNameAsync(String name);
+
+    /**
+     * Variante asíncrona de {@link #filterGames(String, String, Integer, Integer)}.
+     *
+     * @param filter La consulta de filtrado en el formato de la API de IGDB.
+     * @param sort El campo por el que ordenar los resultados.
+     * @param limit El número máximo de resultados a devolver.
+     * @param offset El número de resultados a saltar para la paginación.
+     * @return Un futuro que se completa con la página de juegos filtrados.
+     */
+    CompletableFuture<Page<Game>> filterGamesAsync(String filter, String sort, Integer limit, Integer offset);
 }
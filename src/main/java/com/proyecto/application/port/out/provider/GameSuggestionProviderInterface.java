@@ -0,0 +1,23 @@
+package com.proyecto.application.port.out.provider;
+
+import com.proyecto.domain.model.GameSuggestion;
+
+import java.util.List;
+
+/**
+ * Puerto de salida (driven port) para sugerir nombres de juegos mientras el usuario escribe.
+ * Se consulta en cada pulsación de tecla, así que debe responder sin llamar al proveedor
+ * externo.
+ */
+public interface GameSuggestionProviderInterface {
+
+    /**
+     * Obtiene los juegos mejor valorados cuyo nombre, o alguna de sus palabras, empieza por
+     * {@code prefix}.
+     *
+     * @param prefix El texto escrito por el usuario.
+     * @param limit  El número máximo de sugerencias.
+     * @return Las sugerencias, de la mejor a la peor; vacía si no hay ninguna.
+     */
+    List<GameSuggestion> suggestByPrefix(String prefix, int limit);
+}
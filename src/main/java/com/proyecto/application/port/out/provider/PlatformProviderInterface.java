@@ -2,6 +2,7 @@ package com.proyecto.application.port.out.provider;
 
 import com.proyecto.domain.model.Platform;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Puerto de salida (driven port) para obtener datos de plataformas desde un proveedor externo.
@@ -14,4 +15,11 @@ public interface PlatformProviderInterface {
      * @return Una lista de objetos Platform.
      */
     List<Platform> listPlatforms();
+
+    /**
+     * Variante asíncrona de {@link #listPlatforms()}: no bloquea el hilo que la invoca.
+     *
+     * @return Un futuro que se completa con la lista de plataformas.
+     */
+    CompletableFuture<List<Platform>> listPlatformsAsync();
 }
@@ -2,20 +2,28 @@ package com.proyecto.application.service;
 
 import com.proyecto.application.port.in.GameServiceInterface;
 import com.proyecto.application.port.out.provider.GameProviderInterface;
+import com.proyecto.application.port.out.provider.GameSuggestionProviderInterface;
 import com.proyecto.domain.model.Game;
+import com.proyecto.domain.model.GameSuggestion;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class GameServiceService implements GameServiceInterface {
 
+    private static final int DEFAULT_SUGGESTIONS = 10;
+
     private final GameProviderInterface gameProviderInterface;
+    private final GameSuggestionProviderInterface gameSuggestionProviderInterface;
 
-    public GameServiceService(GameProviderInterface gameProviderInterface) {
+    public GameServiceService(GameProviderInterface gameProviderInterface,
+                              GameSuggestionProviderInterface gameSuggestionProviderInterface) {
         this.gameProviderInterface = gameProviderInterface;
+        this.gameSuggestionProviderInterface = gameSuggestionProviderInterface;
     }
 
     @Override
@@ -23,6 +31,11 @@ public class GameServiceService implements GameServiceInterface {
         return gameProviderInterface.searchByName(name);
     }
 
+    @Override
+    public List<Game> searchGamesByNameFuzzy(String name) {
+        return gameProviderInterface.searchByNameFuzzy(name);
+    }
+
     @Override
     public Optional<Game> getGameById(Long id) {
         return gameProviderInterface.findByExternalId(id);
@@ -37,4 +50,29 @@ public class GameServiceService implements GameServiceInterface {
     public Page<Game> filterGames(String filter, String sort, Integer limit, Integer offset) {
         return gameProviderInterface.filterGames(filter, sort, limit, offset);
     }
+
+    @Override
+    public List<GameSuggestion> suggestGames(String prefix, Integer limit) {
+        return gameSuggestionProviderInterface.suggestByPrefix(prefix, limit != null ? limit : DEFAULT_SUGGESTIONS);
+    }
+
+    @Override
+    public CompletableFuture<List<Game>> searchGamesByNameAsync(String name) {
+        return gameProviderInterface.searchByNameAsync(name);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Game>> getGameByIdAsync(Long id) {
+        return gameProviderInterface.findByExternalIdAsync(id);
+    }
+
+    @Override
+    public CompletableFuture<List<Game>> getGamesByIdsAsync(List<Long> ids) {
+        return gameProviderInterface.findMultipleByExternalIdsAsync(ids);
+    }
+
+    @Override
+    public CompletableFuture<Page<Game>> filterGamesAsync(String filter, String sort, Integer limit, Integer offset) {
+        return gameProviderInterface.filterGamesAsync(filter, sort, limit, offset);
+    }
 }
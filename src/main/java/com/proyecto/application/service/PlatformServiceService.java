@@ -6,6 +6,7 @@ import com.proyecto.domain.model.Platform;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class PlatformServiceService implements PlatformServiceInterface {
@@ -20,4 +21,9 @@ public class PlatformServiceService implements PlatformServiceInterface {
     public List<Platform> listPlatforms() {
         return platformProviderInterface.listPlatforms();
     }
+
+    @Override
+    public CompletableFuture<List<Platform>> listPlatformsAsync() {
+        return platformProviderInterface.listPlatformsAsync();
+    }
 }
@@ -0,0 +1,7 @@
+package com.proyecto.domain.exception;
+
+public class GameProviderRequestException extends RuntimeException {
+    public GameProviderRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
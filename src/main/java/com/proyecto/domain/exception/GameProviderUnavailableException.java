@@ -0,0 +1,11 @@
+package com.proyecto.domain.exception;
+
+public class GameProviderUnavailableException extends RuntimeException {
+    public GameProviderUnavailableException(String message) {
+        super(message);
+    }
+
+    public GameProviderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.proyecto.domain.model;
+
+/**
+ * Sugerencia de autocompletado: un juego cuyo nombre empieza por lo que el usuario ha escrito.
+ *
+ * @param id   El identificador único del juego.
+ * @param name El nombre del juego.
+ */
+public record GameSuggestion(Long id, String name) {
+}
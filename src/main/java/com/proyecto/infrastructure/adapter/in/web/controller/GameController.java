@@ -2,11 +2,13 @@ package com.proyecto.infrastructure.adapter.in.web.controller;
 
 import com.proyecto.application.port.in.GameServiceInterface;
 import com.proyecto.domain.model.Game;
+import com.proyecto.domain.model.GameSuggestion;
 import com.proyecto.infrastructure.adapter.in.web.mapper.GameMapper;
 import com.proyecto.videogames.generated.api.GamesApi;
 import com.proyecto.videogames.generated.model.GameDTO;
 import com.proyecto.videogames.generated.model.GameFilterRequestDTO;
 import com.proyecto.videogames.generated.model.GamePageDTO;
+import com.proyecto.videogames.generated.model.GameSuggestionDTO;
 import com.proyecto.videogames.generated.model.GameSummaryDTO;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -28,11 +30,19 @@ public class GameController implements GamesApi {
     }
 
     @Override
-    public ResponseEntity<List<GameDTO>> searchGamesByName(String name) {
-        List<Game> domainGames = gameServiceInterface.searchGamesByName(name);
+    public ResponseEntity<List<GameDTO>> searchGamesByName(String name, Boolean fuzzy) {
+        List<Game> domainGames = Boolean.TRUE.equals(fuzzy)
+                ? gameServiceInterface.searchGamesByNameFuzzy(name)
+                : gameServiceInterface.searchGamesByName(name);
         return ResponseEntity.ok(gameMapper.toApiGameList(domainGames));
     }
 
+    @Override
+    public ResponseEntity<List<GameSuggestionDTO>> autocompleteGames(String prefix, Integer limit) {
+        List<GameSuggestion> suggestions = gameServiceInterface.suggestGames(prefix, limit);
+        return ResponseEntity.ok(gameMapper.toApiGameSuggestionList(suggestions));
+    }
+
     @Override
     public ResponseEntity<GameSummaryDTO> getGameById(Long id) {
         return gameServiceInterface.getGameById(id)
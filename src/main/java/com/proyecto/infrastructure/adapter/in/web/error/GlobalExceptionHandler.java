@@ -1,7 +1,10 @@
 package com.proyecto.infrastructure.adapter.in.web.error;
 
 import com.proyecto.domain.exception.EmailAlreadyExistsException;
+import com.proyecto.domain.exception.GameProviderRequestException;
+import com.proyecto.domain.exception.GameProviderUnavailableException;
 import com.proyecto.domain.exception.UnauthorizedLibraryAccessException;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -46,6 +49,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(GameProviderUnavailableException.class)
+    public ResponseEntity<Object> handleGameProviderUnavailableException(GameProviderUnavailableException ex, WebRequest request) {
+        Map<String, Object> body = Map.of(
+                TIMESTAMP, LocalDateTime.now(),
+                STATUS, HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ERROR, "Service Unavailable",
+                MESSAGE, ex.getMessage(),
+                PATH, request.getDescription(false).substring(4)
+        );
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(GameProviderRequestException.class)
+    public ResponseEntity<Object> handleGameProviderRequestException(GameProviderRequestException ex, WebRequest request) {
+        Map<String, Object> body = Map.of(
+                TIMESTAMP, LocalDateTime.now(),
+                STATUS, HttpStatus.BAD_REQUEST.value(),
+                ERROR, "Bad Request",
+                MESSAGE, ex.getMessage(),
+                PATH, request.getDescription(false).substring(4)
+        );
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Object> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
         Map<String, String> errors = new HashMap<>();
@@ -63,4 +90,22 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException ex, WebRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage())
+        );
+
+        Map<String, Object> body = Map.of(
+                TIMESTAMP, LocalDateTime.now(),
+                STATUS, HttpStatus.BAD_REQUEST.value(),
+                ERROR, "Bad Request",
+                MESSAGE, "Validation failed",
+                "errors", errors,
+                PATH, request.getDescription(false).substring(4)
+        );
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
 }
@@ -1,6 +1,7 @@
 package com.proyecto.infrastructure.adapter.in.web.mapper;
 
 import com.proyecto.domain.model.Game;
+import com.proyecto.domain.model.GameSuggestion;
 import com.proyecto.infrastructure.adapter.in.web.mapper.util.MappingUtils;
 import com.proyecto.videogames.generated.model.*;
 import org.mapstruct.Mapper;
@@ -19,6 +20,10 @@ public interface GameMapper {
 
     List<GameDTO> toApiGameList(List<Game> domainGames);
 
+    GameSuggestionDTO toApiGameSuggestion(GameSuggestion domainSuggestion);
+
+    List<GameSuggestionDTO> toApiGameSuggestionList(List<GameSuggestion> domainSuggestions);
+
     @Mapping(target = "id", source = "id")
     @Mapping(target = "name", source = "name")
     @Mapping(target = "platforms", source = "platforms")
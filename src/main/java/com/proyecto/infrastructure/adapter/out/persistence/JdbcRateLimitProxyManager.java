@@ -0,0 +1,142 @@
+package com.proyecto.infrastructure.adapter.out.persistence;
+
+import io.github.bucket4j.BucketExceptions;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.AbstractSelectForUpdateBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.LockAndGetResult;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.SelectForUpdateBasedTransaction;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * {@code ProxyManager} de Bucket4j que guarda el estado de cada bucket en la tabla
+ * {@code rate_limit_buckets} de la base de datos de la aplicacion, para que todos los nodos
+ * consuman del mismo cupo.
+ * <p>
+ * Cada operacion sobre el bucket bloquea su fila con {@code SELECT ... FOR UPDATE}, aplica
+ * el cambio y confirma. Solo usa SQL estandar, asi que funciona con H2 y con cualquier base
+ * de datos que soporte {@code FOR UPDATE}.
+ */
+public class JdbcRateLimitProxyManager extends AbstractSelectForUpdateBasedProxyManager<String> {
+
+    private static final String SELECT_FOR_UPDATE = "SELECT state FROM rate_limit_buckets WHERE id = ? FOR UPDATE";
+    private static final String INSERT_EMPTY = "INSERT INTO rate_limit_buckets (id, state) VALUES (?, NULL)";
+    private static final String UPDATE_STATE = "UPDATE rate_limit_buckets SET state = ? WHERE id = ?";
+    private static final String DELETE = "DELETE FROM rate_limit_buckets WHERE id = ?";
+    private static final String INTEGRITY_VIOLATION_SQL_STATE_CLASS = "23";
+
+    private final DataSource dataSource;
+
+    public JdbcRateLimitProxyManager(DataSource dataSource, ClientSideConfig clientSideConfig) {
+        super(clientSideConfig);
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    protected SelectForUpdateBasedTransaction allocateTransaction(String key, Optional<Long> requestTimeoutNanos) {
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+
+        return new SelectForUpdateBasedTransaction() {
+            @Override
+            public void begin(Optional<Long> timeoutNanos) {
+                try {
+                    connection.setAutoCommit(false);
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public LockAndGetResult tryLockAndGet(Optional<Long> timeoutNanos) {
+                try (PreparedStatement statement = connection.prepareStatement(SELECT_FOR_UPDATE)) {
+                    applyTimeout(statement, timeoutNanos);
+                    statement.setString(1, key);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return rs.next() ? LockAndGetResult.locked(rs.getBytes(1)) : LockAndGetResult.notLocked();
+                    }
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            /**
+             * Crea la fila vacia del bucket. Si otro nodo la ha creado a la vez devuelve
+             * {@code false} y Bucket4j repite la operacion, que ya encontrara la fila.
+             */
+            @Override
+            public boolean tryInsertEmptyData(Optional<Long> timeoutNanos) {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_EMPTY)) {
+                    applyTimeout(statement, timeoutNanos);
+                    statement.setString(1, key);
+                    return statement.executeUpdate() > 0;
+                } catch (SQLException e) {
+                    if (e.getSQLState() != null && e.getSQLState().startsWith(INTEGRITY_VIOLATION_SQL_STATE_CLASS)) {
+                        return false;
+                    }
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public void update(byte[] data, RemoteBucketState newState, Optional<Long> timeoutNanos) {
+                try (PreparedStatement statement = connection.prepareStatement(UPDATE_STATE)) {
+                    applyTimeout(statement, timeoutNanos);
+                    statement.setBytes(1, data);
+                    statement.setString(2, key);
+                    statement.executeUpdate();
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public void commit(Optional<Long> timeoutNanos) {
+                try {
+                    connection.commit();
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public void rollback() {
+                try {
+                    connection.rollback();
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public void release() {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void removeProxy(String key) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setString(1, key);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+    }
+}
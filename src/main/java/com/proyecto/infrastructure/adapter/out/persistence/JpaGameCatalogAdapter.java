@@ -0,0 +1,141 @@
+package com.proyecto.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.domain.model.Game;
+import com.proyecto.infrastructure.adapter.out.persistence.entity.CatalogGameEntity;
+import com.proyecto.infrastructure.adapter.out.persistence.entity.CatalogSyncStateEntity;
+import com.proyecto.infrastructure.adapter.out.persistence.entity.LongListConverter;
+import com.proyecto.infrastructure.adapter.out.persistence.repository.SpringDataCatalogGameRepository;
+import com.proyecto.infrastructure.adapter.out.persistence.repository.SpringDataCatalogSyncStateRepository;
+import com.proyecto.infrastructure.catalog.CatalogCheckpoint;
+import com.proyecto.infrastructure.catalog.CatalogGame;
+import com.proyecto.infrastructure.catalog.GameCatalogStore;
+import com.proyecto.infrastructure.catalog.IndexedGame;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Component
+public class JpaGameCatalogAdapter implements GameCatalogStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaGameCatalogAdapter.class);
+    private static final String IGDB_GAMES_SYNC = "igdb-games";
+
+    private final SpringDataCatalogGameRepository gameRepository;
+    private final SpringDataCatalogSyncStateRepository syncStateRepository;
+    private final ObjectMapper objectMapper;
+
+    public JpaGameCatalogAdapter(SpringDataCatalogGameRepository gameRepository,
+                                 SpringDataCatalogSyncStateRepository syncStateRepository, ObjectMapper objectMapper) {
+        this.gameRepository = gameRepository;
+        this.syncStateRepository = syncStateRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<Game> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return gameRepository.findById(id).map(this::toDomain);
+    }
+
+    @Override
+    public Map<Long, Game> findAllById(Collection<Long> ids) {
+        Map<Long, Game> games = new HashMap<>();
+        for (CatalogGameEntity entity : gameRepository.findAllById(ids)) {
+            games.put(entity.getId(), toDomain(entity));
+        }
+        return games;
+    }
+
+    @Override
+    public CatalogCheckpoint checkpoint() {
+        return syncStateRepository.findById(IGDB_GAMES_SYNC)
+                .map(state -> new CatalogCheckpoint(state.getUpdatedAt(), state.getLastId()))
+                .orElse(CatalogCheckpoint.START);
+    }
+
+    @Override
+    @Transactional
+    public List<CatalogGame> saveBatch(List<CatalogGame> games, CatalogCheckpoint checkpoint) {
+        // Una sola consulta para todo el lote: los juegos que ya existen quedan cargados y se
+        // actualizan sin otro SELECT, y los nuevos se insertan directamente.
+        Set<Long> existingIds = new HashSet<>();
+        gameRepository.findAllById(games.stream().map(CatalogGame::id).toList())
+                .forEach(entity -> existingIds.add(entity.getId()));
+
+        List<CatalogGame> saved = new ArrayList<>(games.size());
+        List<CatalogGameEntity> entities = new ArrayList<>(games.size());
+        for (CatalogGame game : games) {
+            CatalogGameEntity entity = toEntity(game);
+            entity.setNew(!existingIds.contains(game.id()));
+            if (fitsColumns(entity)) {
+                saved.add(game);
+                entities.add(entity);
+            } else {
+                logger.warn("Skipping game {} from the local catalog: its name or id lists do not fit the table", game.id());
+            }
+        }
+        gameRepository.saveAll(entities);
+        syncStateRepository.save(new CatalogSyncStateEntity(IGDB_GAMES_SYNC, checkpoint.updatedAt(), checkpoint.lastId()));
+        return saved;
+    }
+
+    @Override
+    public void forEachIndexedGame(Consumer<List<IndexedGame>> batchConsumer) {
+        long lastId = Long.MIN_VALUE;
+        List<SpringDataCatalogGameRepository.IndexedGameView> batch;
+        while (!(batch = gameRepository.findTop1000ByIdGreaterThanOrderByIdAsc(lastId)).isEmpty()) {
+            batchConsumer.accept(batch.stream()
+                    .map(view -> new IndexedGame(view.getId(), view.getName(), view.getRating(),
+                            view.getFirstReleaseDate(), view.getGenreIds(), view.getPlatformIds(), view.getUpdatedAt()))
+                    .toList());
+            lastId = batch.getLast().getId();
+        }
+    }
+
+    private CatalogGameEntity toEntity(CatalogGame catalogGame) {
+        CatalogGameEntity entity = new CatalogGameEntity();
+        entity.setId(catalogGame.id());
+        entity.setName(catalogGame.game().name() != null ? catalogGame.game().name() : "");
+        entity.setUpdatedAt(catalogGame.updatedAt());
+        entity.setFirstReleaseDate(catalogGame.firstReleaseDate());
+        entity.setRating(catalogGame.game().rating());
+        entity.setGenreIds(catalogGame.genreIds());
+        entity.setPlatformIds(catalogGame.platformIds());
+        try {
+            entity.setPayload(objectMapper.writeValueAsString(catalogGame.game()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize game " + catalogGame.id() + " for the local catalog", e);
+        }
+        return entity;
+    }
+
+    private static boolean fitsColumns(CatalogGameEntity entity) {
+        LongListConverter converter = new LongListConverter();
+        return entity.getName().length() <= CatalogGameEntity.NAME_LENGTH
+                && converter.convertToDatabaseColumn(entity.getGenreIds()).length() <= CatalogGameEntity.ID_LIST_LENGTH
+                && converter.convertToDatabaseColumn(entity.getPlatformIds()).length() <= CatalogGameEntity.ID_LIST_LENGTH;
+    }
+
+    private Game toDomain(CatalogGameEntity entity) {
+        try {
+            return objectMapper.readValue(entity.getPayload(), Game.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read game " + entity.getId() + " from the local catalog", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.proyecto.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.util.List;
+
+/**
+ * Juego del catalogo local. Guarda el juego de dominio completo serializado en JSON
+ * ({@code payload}) y, en columnas propias, los campos de IGDB por los que se sincroniza o se
+ * consulta.
+ * <p>
+ * El id es el de IGDB, asi que Spring Data no puede saber por el si el juego ya existe: quien
+ * lo guarda indica si es nuevo con {@link #setNew}. Asi un juego nuevo se inserta sin
+ * consultarlo antes.
+ */
+@Entity
+@Table(name = "catalog_games", indexes = @Index(name = "idx_catalog_games_updated_at", columnList = "updatedAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class CatalogGameEntity implements Persistable<Long> {
+
+    public static final int NAME_LENGTH = 1024;
+    public static final int ID_LIST_LENGTH = 4000;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = NAME_LENGTH)
+    private String name;
+
+    @Column(nullable = false)
+    private long updatedAt;
+
+    private Long firstReleaseDate;
+
+    private Double rating;
+
+    @Convert(converter = LongListConverter.class)
+    @Column(length = ID_LIST_LENGTH)
+    private List<Long> genreIds;
+
+    @Convert(converter = LongListConverter.class)
+    @Column(length = ID_LIST_LENGTH)
+    private List<Long> platformIds;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.proyecto.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Punto hasta el que se ha sincronizado el catalogo local con IGDB.
+ */
+@Entity
+@Table(name = "catalog_sync_state")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CatalogSyncStateEntity {
+
+    @Id
+    private String id;
+
+    private long updatedAt;
+
+    private Long lastId;
+
+    public CatalogSyncStateEntity(String id, long updatedAt, Long lastId) {
+        this.id = id;
+        this.updatedAt = updatedAt;
+        this.lastId = lastId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.proyecto.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Guarda una lista de ids como texto separado por comas ({@code "12,31"}).
+ */
+@Converter
+public class LongListConverter implements AttributeConverter<List<Long>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return "";
+        }
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public List<Long> convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(column.split(",")).map(Long::valueOf).toList();
+    }
+}
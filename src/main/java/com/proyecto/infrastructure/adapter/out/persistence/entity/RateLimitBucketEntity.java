@@ -0,0 +1,33 @@
+package com.proyecto.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Estado compartido de un rate limiter de Bucket4j. Solo declara la tabla para que se cree
+ * junto al resto del esquema: la lee y escribe {@code JdbcRateLimitProxyManager} por JDBC,
+ * con {@code SELECT ... FOR UPDATE}, y no se usa desde JPA.
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+public class RateLimitBucketEntity {
+
+    @Id
+    private String id;
+
+    @Column(length = 1024)
+    private byte[] state;
+
+    public RateLimitBucketEntity() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public byte[] getState() {
+        return state;
+    }
+}
@@ -0,0 +1,24 @@
+package com.proyecto.infrastructure.adapter.out.persistence.repository;
+
+import com.proyecto.infrastructure.adapter.out.persistence.entity.CatalogGameEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SpringDataCatalogGameRepository extends JpaRepository<CatalogGameEntity, Long> {
+
+    /**
+     * Solo las columnas que necesitan los indices en memoria, sin el JSON del juego.
+     */
+    interface IndexedGameView {
+        Long getId();
+        String getName();
+        Double getRating();
+        Long getFirstReleaseDate();
+        List<Long> getGenreIds();
+        List<Long> getPlatformIds();
+        long getUpdatedAt();
+    }
+
+    List<IndexedGameView> findTop1000ByIdGreaterThanOrderByIdAsc(Long id);
+}
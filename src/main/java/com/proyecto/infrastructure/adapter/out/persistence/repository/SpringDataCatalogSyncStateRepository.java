@@ -0,0 +1,7 @@
+package com.proyecto.infrastructure.adapter.out.persistence.repository;
+
+import com.proyecto.infrastructure.adapter.out.persistence.entity.CatalogSyncStateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SpringDataCatalogSyncStateRepository extends JpaRepository<CatalogSyncStateEntity, String> {
+}
@@ -0,0 +1,23 @@
+package com.proyecto.infrastructure.catalog;
+
+/**
+ * Punto hasta el que se ha sincronizado el catalogo local, en orden de {@code updated_at}.
+ * <p>
+ * IGDB solo ordena por un campo, asi que varios juegos con el mismo {@code updated_at} pueden
+ * llegar repartidos entre dos paginas en cualquier orden. Mientras quedan juegos pendientes
+ * con {@code updatedAt}, se recorren por id a partir de {@code lastId}; cuando
+ * {@code lastId} es {@code null} ya estan todos y se sigue con los posteriores.
+ *
+ * @param updatedAt {@code updated_at} de IGDB (segundos desde epoch) del ultimo juego guardado.
+ * @param lastId    Ultimo id guardado con ese {@code updated_at}, o {@code null} si no queda
+ *                  ninguno pendiente.
+ */
+public record CatalogCheckpoint(long updatedAt, Long lastId) {
+
+    /** Catalogo vacio: hay que empezar por el juego actualizado hace mas tiempo. */
+    public static final CatalogCheckpoint START = new CatalogCheckpoint(0, null);
+
+    public boolean tiesPending() {
+        return lastId != null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.domain.model.Game;
+
+import java.util.List;
+
+/**
+ * Juego del catalogo local: el juego de dominio mas los datos de IGDB que hacen falta para
+ * sincronizarlo y consultarlo sin llamar a IGDB.
+ *
+ * @param game             El juego tal y como lo devuelve el proveedor.
+ * @param updatedAt        {@code updated_at} de IGDB (segundos desde epoch).
+ * @param firstReleaseDate {@code first_release_date} de IGDB (segundos desde epoch); puede ser {@code null}.
+ * @param genreIds         Ids de IGDB de los generos del juego.
+ * @param platformIds      Ids de IGDB de las plataformas del juego.
+ */
+public record CatalogGame(
+        Game game,
+        long updatedAt,
+        Long firstReleaseDate,
+        List<Long> genreIds,
+        List<Long> platformIds
+) {
+
+    public Long id() {
+        return game.id();
+    }
+}
@@ -0,0 +1,53 @@
+package com.proyecto.infrastructure.catalog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Carga en los indices en memoria ({@link GameIndex}) los juegos que ya estan en el catalogo
+ * local al arrancar. Se hace en un hilo aparte para no retrasar el arranque; mientras tanto
+ * las busquedas encuentran menos resultados y recurren a IGDB, y los filtros no se resuelven
+ * en local hasta que termina ({@link CatalogStatus}).
+ */
+@Component
+@ConditionalOnProperty(name = "igdb.catalog.enabled", havingValue = "true")
+public class CatalogIndexLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogIndexLoader.class);
+
+    private final GameCatalogStore store;
+    private final List<GameIndex> indexes;
+    private final CatalogStatus status;
+
+    public CatalogIndexLoader(GameCatalogStore store, List<GameIndex> indexes, CatalogStatus status) {
+        this.store = store;
+        this.indexes = indexes;
+        this.status = status;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofVirtual().name("catalog-index-loader").start(this::load);
+    }
+
+    void load() {
+        try {
+            long start = System.nanoTime();
+            int[] loaded = {0};
+            store.forEachIndexedGame(batch -> {
+                indexes.forEach(index -> index.addAll(batch));
+                loaded[0] += batch.size();
+            });
+            status.markIndexesLoaded();
+            logger.info("Indexed {} catalog games in {} ms", loaded[0], (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Could not load the local catalog into the in-memory indexes", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.proyecto.infrastructure.catalog;
+
+import java.util.List;
+
+/**
+ * Origen de los juegos con los que se alimenta el catalogo local (ver {@link CatalogSyncJob}).
+ */
+public interface CatalogSource {
+
+    /**
+     * Maximo de juegos que devuelve cada consulta; un {@code limit} mayor se recorta.
+     */
+    int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Juegos actualizados despues de {@code updatedAt}, del mas antiguo al mas reciente.
+     *
+     * @throws com.proyecto.domain.exception.GameProviderUnavailableException Si el origen no responde.
+     */
+    List<CatalogGame> fetchGamesUpdatedAfter(long updatedAt, int limit);
+
+    /**
+     * Juegos actualizados exactamente en {@code updatedAt} con id mayor que {@code afterId},
+     * ordenados por id.
+     *
+     * @throws com.proyecto.domain.exception.GameProviderUnavailableException Si el origen no responde.
+     */
+    List<CatalogGame> fetchGamesUpdatedAt(long updatedAt, long afterId, int limit);
+}
@@ -0,0 +1,33 @@
+package com.proyecto.infrastructure.catalog;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estado del catalogo local que importa a quien responde consultas sobre todos los juegos (y
+ * no sobre juegos concretos): solo se puede contestar sin IGDB si el catalogo esta completo.
+ * <p>
+ * Lo esta cuando {@link CatalogSyncJob} ha llegado al final de lo que hay en IGDB al menos una
+ * vez y {@link CatalogIndexLoader} ha terminado de cargar en memoria lo que ya estaba guardado.
+ * Desde ese momento los indices solo van por detras de IGDB lo que tarde la siguiente
+ * sincronizacion.
+ */
+@Component
+@ConditionalOnProperty(name = "igdb.catalog.enabled", havingValue = "true")
+public class CatalogStatus {
+
+    private volatile boolean caughtUp;
+    private volatile boolean indexesLoaded;
+
+    void markCaughtUp() {
+        caughtUp = true;
+    }
+
+    void markIndexesLoaded() {
+        indexesLoaded = true;
+    }
+
+    public boolean isComplete() {
+        return caughtUp && indexesLoaded;
+    }
+}
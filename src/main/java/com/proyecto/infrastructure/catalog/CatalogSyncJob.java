@@ -0,0 +1,121 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Mantiene el catalogo local al dia con IGDB.
+ * <p>
+ * Cada ejecucion pide a IGDB los juegos actualizados despues del ultimo punto guardado
+ * ({@link CatalogCheckpoint}), en paginas de {@code igdb.catalog.sync.page-size} ordenadas por
+ * {@code updated_at}, y guarda cada pagina junto con el nuevo punto en una sola transaccion.
+ * Tras un reinicio se continua desde la ultima pagina guardada. La primera carga del catalogo
+ * completo se reparte entre varias ejecuciones: cada una procesa como mucho
+ * {@code igdb.catalog.sync.max-pages-per-run} paginas, con prioridad de fondo en el rate
+ * limiter, para no quitar cupo a las consultas de los usuarios.
+ * <p>
+ * Cada pagina guardada se añade tambien a los indices en memoria ({@link GameIndex}). Al llegar
+ * al final de lo que hay en IGDB se anota en {@link CatalogStatus}.
+ */
+@Component
+@ConditionalOnProperty(name = "igdb.catalog.enabled", havingValue = "true")
+public class CatalogSyncJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSyncJob.class);
+
+    private static final int DEFAULT_PAGE_SIZE = CatalogSource.MAX_PAGE_SIZE;
+    private static final int DEFAULT_MAX_PAGES_PER_RUN = 20;
+
+    private final CatalogSource source;
+    private final GameCatalogStore store;
+    private final List<GameIndex> indexes;
+    private final CatalogStatus status;
+    private final int pageSize;
+    private final int maxPagesPerRun;
+
+    public CatalogSyncJob(CatalogSource source, GameCatalogStore store, List<GameIndex> indexes, CatalogStatus status,
+                          IgdbApiConfig apiConfig) {
+        this.source = source;
+        this.store = store;
+        this.indexes = indexes;
+        this.status = status;
+        // Una pagina mayor que la que devuelve el origen pareceria siempre incompleta: se
+        // daria el catalogo por al dia tras la primera.
+        this.pageSize = apiConfig.getCatalogSyncPageSize() > 0
+                ? Math.min(apiConfig.getCatalogSyncPageSize(), CatalogSource.MAX_PAGE_SIZE)
+                : DEFAULT_PAGE_SIZE;
+        this.maxPagesPerRun = apiConfig.getCatalogSyncMaxPagesPerRun() > 0
+                ? apiConfig.getCatalogSyncMaxPagesPerRun()
+                : DEFAULT_MAX_PAGES_PER_RUN;
+    }
+
+    @Scheduled(initialDelayString = "${igdb.catalog.sync.initial-delay-ms:10000}",
+            fixedDelayString = "${igdb.catalog.sync.interval-ms:60000}")
+    public void sync() {
+        try {
+            int synced = syncOnce();
+            if (synced > 0) {
+                logger.info("Synced {} games into the local catalog", synced);
+            }
+        } catch (GameProviderUnavailableException e) {
+            // Lo ya guardado no se pierde; la siguiente ejecucion sigue desde ahi.
+            logger.warn("Local catalog sync stopped, IGDB unavailable: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Local catalog sync failed", e);
+        }
+    }
+
+    /**
+     * Ejecuta una pasada de sincronizacion.
+     *
+     * @return Numero de juegos insertados o actualizados.
+     */
+    int syncOnce() {
+        CatalogCheckpoint checkpoint = store.checkpoint();
+        int synced = 0;
+        for (int pages = 0; pages < maxPagesPerRun; pages++) {
+            List<CatalogGame> page;
+            CatalogCheckpoint next;
+            boolean caughtUp = false;
+            if (checkpoint.tiesPending()) {
+                page = source.fetchGamesUpdatedAt(checkpoint.updatedAt(), checkpoint.lastId(), pageSize);
+                next = page.size() < pageSize
+                        ? new CatalogCheckpoint(checkpoint.updatedAt(), null)
+                        : new CatalogCheckpoint(checkpoint.updatedAt(), page.getLast().id());
+            } else {
+                page = source.fetchGamesUpdatedAfter(checkpoint.updatedAt(), pageSize);
+                if (page.isEmpty()) {
+                    status.markCaughtUp();
+                    break;
+                }
+                long lastUpdatedAt = page.stream().mapToLong(CatalogGame::updatedAt).max().orElseThrow();
+                // Si la pagina esta llena puede haber mas juegos con el ultimo updated_at que no
+                // han cabido: se recorren por id antes de seguir.
+                caughtUp = page.size() < pageSize;
+                next = caughtUp
+                        ? new CatalogCheckpoint(lastUpdatedAt, null)
+                        : new CatalogCheckpoint(lastUpdatedAt, 0L);
+            }
+
+            List<CatalogGame> saved = store.saveBatch(page, next);
+            if (!saved.isEmpty()) {
+                List<IndexedGame> indexed = saved.stream().map(IndexedGame::of).toList();
+                indexes.forEach(index -> index.addAll(indexed));
+            }
+            synced += saved.size();
+            checkpoint = next;
+            if (caughtUp) {
+                status.markCaughtUp();
+                break;
+            }
+        }
+        return synced;
+    }
+}
@@ -0,0 +1,433 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.application.port.out.provider.GameSuggestionProviderInterface;
+import com.proyecto.domain.model.GameSuggestion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Arbol de prefijos en memoria sobre los nombres de los juegos conocidos, para sugerir nombres
+ * mientras el usuario escribe sin llamar a IGDB en cada pulsacion.
+ * <p>
+ * Cada juego entra con su nombre normalizado ({@link TextNormalizer}) y con lo que queda a
+ * partir de cada una de sus palabras, de modo que "zel" sugiere "The Legend of Zelda". El
+ * arbol esta comprimido (cada arista lleva un trozo de texto, no un caracter) y cada nodo
+ * guarda los {@value #MAX_SUGGESTIONS} mejores juegos de su subarbol, ordenados por
+ * puntuacion. Una consulta baja por el prefijo y devuelve esa lista tal cual, sin recorrer el
+ * subarbol.
+ * <p>
+ * Al añadir o actualizar un juego solo se recalculan las listas de los nodos en el camino de
+ * sus claves, a partir de las de sus hijos.
+ * <p>
+ * Solo existe con el catalogo local ({@code igdb.catalog.enabled=true}), que es quien lo
+ * alimenta; sin el responde {@link UnavailableGameSuggestionProvider}.
+ */
+@Component
+@ConditionalOnProperty(name = "igdb.catalog.enabled", havingValue = "true")
+public class GameAutocompleteIndex implements GameIndex, GameSuggestionProviderInterface {
+
+    static final int MAX_SUGGESTIONS = 10;
+    // A partir de aqui las palabras de un nombre largo solo se sugieren desde las anteriores.
+    private static final int MAX_WORD_STARTS = 8;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int[] NO_ENTRIES = new int[0];
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<Long, Integer> entryById = new HashMap<>();
+    // Posiciones de juegos quitados, que se reutilizan antes de crecer.
+    private final ArrayDeque<Integer> freeEntries = new ArrayDeque<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private double[] scores = new double[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int entryCount;
+
+    /**
+     * Nodo del arbol. Los hijos se guardan ordenados por su primer caracter.
+     */
+    private static final class Node {
+        private String label;
+        private char[] firstChars = NO_CHARS;
+        private Node[] children = NO_NODES;
+        // Juegos cuya clave termina exactamente en este nodo.
+        private int[] terminals = NO_ENTRIES;
+        // Mejores juegos del subarbol, del mejor al peor.
+        private int[] top = NO_ENTRIES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int childIndex(char c) {
+            return Arrays.binarySearch(firstChars, c);
+        }
+
+        void insertChild(int position, Node child) {
+            firstChars = insertAt(firstChars, position, child.label.charAt(0));
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, position);
+            grown[position] = child;
+            System.arraycopy(children, position, grown, position + 1, children.length - position);
+            children = grown;
+        }
+
+        void removeChild(Node child) {
+            int position = childIndex(child.label.charAt(0));
+            char[] chars = new char[firstChars.length - 1];
+            Node[] nodes = new Node[children.length - 1];
+            System.arraycopy(firstChars, 0, chars, 0, position);
+            System.arraycopy(firstChars, position + 1, chars, position, chars.length - position);
+            System.arraycopy(children, 0, nodes, 0, position);
+            System.arraycopy(children, position + 1, nodes, position, nodes.length - position);
+            firstChars = chars;
+            children = nodes;
+        }
+
+        boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+    }
+
+    @Override
+    public void addAll(Collection<IndexedGame> games) {
+        lock.writeLock().lock();
+        try {
+            games.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeUnversioned(Collection<Long> gameIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : gameIds) {
+                Integer entry = entryById.get(id);
+                if (entry != null && versions[entry] == IndexedGame.UNVERSIONED) {
+                    keys(names[entry]).forEach(key -> remove(key, entry));
+                    release(entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Juegos cuyo nombre, o alguna de sus palabras, empieza por {@code prefix}, de mejor a peor
+     * puntuacion. Si el prefijo termina en un espacio, la ultima palabra tiene que estar
+     * completa.
+     *
+     * @param limit Como mucho {@value #MAX_SUGGESTIONS}.
+     */
+    @Override
+    public List<GameSuggestion> suggestByPrefix(String prefix, int limit) {
+        String key = queryKey(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            int size = Math.min(limit, node.top.length);
+            List<GameSuggestion> suggestions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int entry = node.top[i];
+                suggestions.add(new GameSuggestion(ids[entry], names[entry]));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entryById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(IndexedGame game) {
+        double score = game.rating() != null ? game.rating() : 0;
+        Integer existing = entryById.get(game.id());
+        if (existing != null) {
+            if (game.updatedAt() < versions[existing]) {
+                return;
+            }
+            versions[existing] = game.updatedAt();
+            if (Objects.equals(names[existing], game.name()) && scores[existing] == score) {
+                return;
+            }
+            keys(names[existing]).forEach(key -> remove(key, existing));
+        }
+        Set<String> keys = keys(game.name());
+        if (keys.isEmpty()) {
+            if (existing != null) {
+                release(existing);
+            }
+            return;
+        }
+
+        int entry = existing != null ? existing : newEntry(game.id());
+        names[entry] = game.name();
+        scores[entry] = score;
+        versions[entry] = game.updatedAt();
+        keys.forEach(key -> insert(key, entry));
+    }
+
+    private int newEntry(long id) {
+        Integer free = freeEntries.poll();
+        int entry = free != null ? free : entryCount++;
+        if (entry == ids.length) {
+            ids = Arrays.copyOf(ids, entry * 2);
+            names = Arrays.copyOf(names, entry * 2);
+            scores = Arrays.copyOf(scores, entry * 2);
+            versions = Arrays.copyOf(versions, entry * 2);
+        }
+        ids[entry] = id;
+        entryById.put(id, entry);
+        return entry;
+    }
+
+    private void release(int entry) {
+        entryById.remove(ids[entry]);
+        names[entry] = null;
+        freeEntries.push(entry);
+    }
+
+    private void insert(String key, int entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position));
+                node.insertChild(-index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                child = split(node, index, common);
+            }
+            node = child;
+            path.add(node);
+            position += common;
+        }
+
+        node.terminals = insertAt(node.terminals, node.terminals.length, entry);
+        for (int i = path.size() - 1; i >= 0; i--) {
+            recomputeTop(path.get(i));
+        }
+    }
+
+    private void remove(String key, int entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                return;
+            }
+            node = node.children[index];
+            if (!key.startsWith(node.label, position)) {
+                return;
+            }
+            path.add(node);
+            position += node.label.length();
+        }
+
+        node.terminals = removeValue(node.terminals, entry);
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (i > 0 && current.isEmpty()) {
+                path.get(i - 1).removeChild(current);
+            } else {
+                recomputeTop(current);
+            }
+        }
+    }
+
+    /**
+     * Parte la arista hacia {@code parent.children[index]} tras {@code length} caracteres y
+     * devuelve el nodo intermedio.
+     */
+    private static Node split(Node parent, int index, int length) {
+        Node child = parent.children[index];
+        Node middle = new Node(child.label.substring(0, length));
+        child.label = child.label.substring(length);
+        middle.firstChars = new char[]{child.label.charAt(0)};
+        middle.children = new Node[]{child};
+        middle.top = child.top;
+        parent.children[index] = middle;
+        return middle;
+    }
+
+    /**
+     * Nodo cuyo camino desde la raiz empieza por {@code key}, o {@code null} si no hay
+     * ninguno. La clave puede acabar a mitad de una arista.
+     */
+    private Node find(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+            int common = commonPrefix(node.label, key, position);
+            if (position + common == key.length()) {
+                return node;
+            }
+            if (common < node.label.length()) {
+                return null;
+            }
+            position += common;
+        }
+        return node;
+    }
+
+    /**
+     * Mezcla los juegos que terminan en el nodo con las listas ya ordenadas de sus hijos. Un
+     * juego puede llegar por varios hijos (una clave por palabra), pero solo cuenta una vez.
+     */
+    private void recomputeTop(Node node) {
+        int[] best = new int[MAX_SUGGESTIONS];
+        int size = 0;
+        for (int entry : node.terminals) {
+            size = offer(best, size, entry);
+        }
+        for (Node child : node.children) {
+            for (int entry : child.top) {
+                if (size == MAX_SUGGESTIONS && !isBetter(entry, best[size - 1])) {
+                    break;
+                }
+                size = offer(best, size, entry);
+            }
+        }
+        node.top = size == best.length ? best : Arrays.copyOf(best, size);
+    }
+
+    private int offer(int[] best, int size, int entry) {
+        int position = size;
+        for (int i = 0; i < size; i++) {
+            if (best[i] == entry) {
+                return size;
+            }
+            if (position == size && isBetter(entry, best[i])) {
+                position = i;
+            }
+        }
+        if (position == best.length) {
+            return size;
+        }
+        int moved = Math.min(size, best.length - 1) - position;
+        System.arraycopy(best, position, best, position + 1, moved);
+        best[position] = entry;
+        return Math.min(size + 1, best.length);
+    }
+
+    /**
+     * Mayor puntuacion primero; a igualdad, el nombre mas corto y despues el id menor, para que
+     * el orden no dependa del orden de llegada.
+     */
+    private boolean isBetter(int entry, int other) {
+        if (scores[entry] != scores[other]) {
+            return scores[entry] > scores[other];
+        }
+        if (names[entry].length() != names[other].length()) {
+            return names[entry].length() < names[other].length();
+        }
+        return ids[entry] < ids[other];
+    }
+
+    /**
+     * Nombre normalizado y lo que queda de el a partir de cada palabra.
+     */
+    private static Set<String> keys(String name) {
+        List<String> tokens = TextNormalizer.tokens(name);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < Math.min(tokens.size(), MAX_WORD_STARTS); i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return keys;
+    }
+
+    private static String queryKey(String prefix) {
+        List<String> tokens = TextNormalizer.tokens(prefix);
+        if (tokens.isEmpty()) {
+            return "";
+        }
+        String key = String.join(" ", tokens);
+        boolean wordFinished = !Character.isLetterOrDigit(prefix.charAt(prefix.length() - 1));
+        return wordFinished ? key + " " : key;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int[] insertAt(int[] values, int position, int value) {
+        int[] grown = new int[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, position);
+        grown[position] = value;
+        System.arraycopy(values, position, grown, position + 1, values.length - position);
+        return grown;
+    }
+
+    private static char[] insertAt(char[] values, int position, char value) {
+        char[] grown = new char[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, position);
+        grown[position] = value;
+        System.arraycopy(values, position, grown, position + 1, values.length - position);
+        return grown;
+    }
+
+    private static int[] removeValue(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                int[] shrunk = new int[values.length - 1];
+                System.arraycopy(values, 0, shrunk, 0, i);
+                System.arraycopy(values, i + 1, shrunk, i, shrunk.length - i);
+                return shrunk;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,42 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.domain.model.Game;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Almacen del catalogo local de juegos.
+ */
+public interface GameCatalogStore {
+
+    Optional<Game> findById(Long id);
+
+    /**
+     * @return Los juegos del catalogo con esos ids; los que no estan no aparecen en el mapa.
+     */
+    Map<Long, Game> findAllById(Collection<Long> ids);
+
+    /**
+     * @return Hasta donde se ha sincronizado el catalogo; {@link CatalogCheckpoint#START} si nunca.
+     */
+    CatalogCheckpoint checkpoint();
+
+    /**
+     * Inserta o actualiza los juegos y guarda el nuevo punto de sincronizacion, todo o nada:
+     * tras un reinicio la sincronizacion continua justo despues del ultimo lote guardado.
+     * Un juego que no cabe en el almacen se omite (queda en el log) en lugar de hacer fallar
+     * el lote, que si no se volveria a pedir en cada sincronizacion.
+     *
+     * @return Los juegos guardados.
+     */
+    List<CatalogGame> saveBatch(List<CatalogGame> games, CatalogCheckpoint checkpoint);
+
+    /**
+     * Recorre todo el catalogo por lotes, en orden de id, sin cargar los juegos completos.
+     */
+    void forEachIndexedGame(Consumer<List<IndexedGame>> batchConsumer);
+}
@@ -0,0 +1,293 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Condition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Datos por los que se filtra de cada juego del catalogo local, en columnas en memoria, para
+ * ejecutar un {@link GameFilterPlan} sin llamar a IGDB: total, orden, {@code limit} y
+ * {@code offset} incluidos.
+ * <p>
+ * Solo entran los juegos del catalogo (los que llegan en respuestas de IGDB no traen ids de
+ * generos ni plataformas). Cada juego ocupa siempre el mismo documento y una actualizacion
+ * sobrescribe sus columnas. Para cada genero y plataforma se guarda el conjunto de documentos
+ * que lo tienen, de modo que {@code genres = (12, 31)} es una union de bitsets; las
+ * comparaciones numericas recorren su columna.
+ * <p>
+ * El resultado solo es el de IGDB si el catalogo esta completo; eso lo comprueba quien lo
+ * usa, con {@link CatalogStatus}.
+ */
+@Component
+@ConditionalOnProperty(name = "igdb.catalog.enabled", havingValue = "true")
+public class GameFilterIndex implements GameIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long[] NO_IDS = new long[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docById = new HashMap<>();
+    private final Map<Long, BitSet> docsByGenre = new HashMap<>();
+    private final Map<Long, BitSet> docsByPlatform = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    // NaN cuando el juego no tiene valor.
+    private double[] ratings = new double[INITIAL_CAPACITY];
+    private double[] releaseDates = new double[INITIAL_CAPACITY];
+    private long[][] genres = new long[INITIAL_CAPACITY][];
+    private long[][] platforms = new long[INITIAL_CAPACITY][];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int docCount;
+
+    /**
+     * Una pagina de resultados.
+     *
+     * @param ids   Ids de IGDB de los juegos de la pagina, en orden.
+     * @param total Juegos que cumplen el filtro en total.
+     */
+    public record Result(List<Long> ids, long total) {}
+
+    @Override
+    public void addAll(Collection<IndexedGame> games) {
+        lock.writeLock().lock();
+        try {
+            for (IndexedGame game : games) {
+                if (game.hasFilterAttributes()) {
+                    add(game);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Los juegos que solo se conocen por IGDB no entran en este indice, asi que no hay nada
+     * que quitar.
+     */
+    @Override
+    public void removeUnversioned(Collection<Long> gameIds) {
+    }
+
+    /**
+     * Ejecuta el plan sobre los juegos indexados.
+     *
+     * @return Los ids de la ventana {@code [offset, offset + limit)} en el orden del plan y el
+     * total de juegos que cumplen el filtro.
+     */
+    public Result execute(GameFilterPlan plan, int limit, int offset) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = evaluate(plan.where());
+            int total = matches.cardinality();
+            if (limit <= 0 || offset >= total) {
+                return new Result(List.of(), total);
+            }
+            List<Integer> top = firstInOrder(matches, order(plan.sort()), (int) Math.min((long) offset + limit, total));
+            List<Long> page = top.subList(offset, top.size()).stream().map(doc -> ids[doc]).toList();
+            return new Result(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(IndexedGame game) {
+        Integer existing = docById.get(game.id());
+        int doc;
+        if (existing != null) {
+            if (game.updatedAt() < versions[existing]) {
+                return;
+            }
+            doc = existing;
+            unindex(docsByGenre, genres[doc], doc);
+            unindex(docsByPlatform, platforms[doc], doc);
+        } else {
+            doc = docCount++;
+            if (doc == ids.length) {
+                ids = Arrays.copyOf(ids, doc * 2);
+                ratings = Arrays.copyOf(ratings, doc * 2);
+                releaseDates = Arrays.copyOf(releaseDates, doc * 2);
+                genres = Arrays.copyOf(genres, doc * 2);
+                platforms = Arrays.copyOf(platforms, doc * 2);
+                versions = Arrays.copyOf(versions, doc * 2);
+            }
+            ids[doc] = game.id();
+            docById.put(game.id(), doc);
+        }
+
+        ratings[doc] = game.rating() != null ? game.rating() : Double.NaN;
+        releaseDates[doc] = game.firstReleaseDate() != null ? game.firstReleaseDate() : Double.NaN;
+        genres[doc] = distinctIds(game.genreIds());
+        platforms[doc] = distinctIds(game.platformIds());
+        versions[doc] = game.updatedAt();
+        index(docsByGenre, genres[doc], doc);
+        index(docsByPlatform, platforms[doc], doc);
+        live.set(doc);
+    }
+
+    private static long[] distinctIds(List<Long> values) {
+        return values.isEmpty() ? NO_IDS : values.stream().mapToLong(Long::longValue).distinct().toArray();
+    }
+
+    private static void index(Map<Long, BitSet> docsByValue, long[] values, int doc) {
+        for (long value : values) {
+            docsByValue.computeIfAbsent(value, _ -> new BitSet()).set(doc);
+        }
+    }
+
+    private static void unindex(Map<Long, BitSet> docsByValue, long[] values, int doc) {
+        for (long value : values) {
+            BitSet docs = docsByValue.get(value);
+            if (docs != null) {
+                docs.clear(doc);
+            }
+        }
+    }
+
+    /**
+     * Documentos que cumplen la condicion, siempre dentro de {@link #live}.
+     */
+    private BitSet evaluate(Condition condition) {
+        return switch (condition) {
+            case GameFilterPlan.All _ -> (BitSet) live.clone();
+            case GameFilterPlan.And and -> {
+                BitSet result = evaluate(and.operands().getFirst());
+                for (int i = 1; i < and.operands().size() && !result.isEmpty(); i++) {
+                    result.and(evaluate(and.operands().get(i)));
+                }
+                yield result;
+            }
+            case GameFilterPlan.Or or -> {
+                BitSet result = new BitSet();
+                for (Condition operand : or.operands()) {
+                    result.or(evaluate(operand));
+                }
+                yield result;
+            }
+            case GameFilterPlan.Compare compare -> compare(column(compare.field()), compare.operator(), compare.value());
+            case GameFilterPlan.Present present -> present(present.field(), present.present());
+            case GameFilterPlan.Contains contains -> contains(postings(contains.field()), contains.ids(), contains.all());
+        };
+    }
+
+    private BitSet compare(double[] column, GameFilterPlan.Operator operator, double value) {
+        BitSet result = new BitSet();
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            double current = column[doc];
+            // NaN no cumple ninguna comparacion, asi que los juegos sin valor quedan fuera.
+            boolean matches = switch (operator) {
+                case EQUAL -> current == value;
+                case GREATER -> current > value;
+                case GREATER_OR_EQUAL -> current >= value;
+                case LESS -> current < value;
+                case LESS_OR_EQUAL -> current <= value;
+            };
+            if (matches) {
+                result.set(doc);
+            }
+        }
+        return result;
+    }
+
+    private BitSet present(GameFilterPlan.Field field, boolean present) {
+        BitSet result = new BitSet();
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            boolean hasValue = field.isMultiValued()
+                    ? (field == GameFilterPlan.Field.GENRES ? genres[doc] : platforms[doc]).length > 0
+                    : !Double.isNaN(column(field)[doc]);
+            if (hasValue == present) {
+                result.set(doc);
+            }
+        }
+        return result;
+    }
+
+    private static BitSet contains(Map<Long, BitSet> docsByValue, List<Long> values, boolean all) {
+        BitSet result = null;
+        for (Long value : values) {
+            BitSet docs = docsByValue.getOrDefault(value, new BitSet());
+            if (result == null) {
+                result = (BitSet) docs.clone();
+            } else if (all) {
+                result.and(docs);
+            } else {
+                result.or(docs);
+            }
+        }
+        return result != null ? result : new BitSet();
+    }
+
+    private double[] column(GameFilterPlan.Field field) {
+        return switch (field) {
+            case RATING -> ratings;
+            case FIRST_RELEASE_DATE -> releaseDates;
+            case GENRES, PLATFORMS -> throw new IllegalArgumentException(field + " is not a numeric field");
+        };
+    }
+
+    private Map<Long, BitSet> postings(GameFilterPlan.Field field) {
+        return switch (field) {
+            case GENRES -> docsByGenre;
+            case PLATFORMS -> docsByPlatform;
+            case RATING, FIRST_RELEASE_DATE -> throw new IllegalArgumentException(field + " is not a list field");
+        };
+    }
+
+    /**
+     * Orden del plan, con los juegos sin valor al final y desempate por id.
+     */
+    private Comparator<Integer> order(GameFilterPlan.Sort sort) {
+        Comparator<Integer> byId = Comparator.comparingLong(doc -> ids[doc]);
+        if (sort == null) {
+            return byId;
+        }
+        double[] column = column(sort.field());
+        Comparator<Integer> byValue = (a, b) -> {
+            double x = column[a];
+            double y = column[b];
+            if (Double.isNaN(x) || Double.isNaN(y)) {
+                return Boolean.compare(Double.isNaN(x), Double.isNaN(y));
+            }
+            return sort.descending() ? Double.compare(y, x) : Double.compare(x, y);
+        };
+        return byValue.thenComparing(byId);
+    }
+
+    /**
+     * Los {@code count} primeros documentos de {@code matches} segun {@code order}, sin
+     * ordenar el resto.
+     */
+    private static List<Integer> firstInOrder(BitSet matches, Comparator<Integer> order, int count) {
+        PriorityQueue<Integer> top = new PriorityQueue<>(count + 1, order.reversed());
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            top.offer(doc);
+            if (top.size() > count) {
+                top.poll();
+            }
+        }
+        List<Integer> result = new ArrayList<>(top);
+        result.sort(order);
+        return result;
+    }
+}
@@ -0,0 +1,248 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Condition;
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Field;
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Operator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Interpreta el subconjunto habitual de los filtros de IGDB (apicalypse) para resolverlos sin
+ * llamar a IGDB:
+ * <ul>
+ *     <li>{@code rating} y {@code first_release_date} con {@code = > >= < <=} y un numero, o
+ *     {@code = null} / {@code != null}.</li>
+ *     <li>{@code genres} y {@code platforms} con {@code = id}, {@code = (ids)} (alguno),
+ *     {@code = [ids]} (todos), o {@code = null} / {@code != null}.</li>
+ *     <li>Condiciones unidas con {@code &} o {@code |} y agrupadas con parentesis. Mezclar
+ *     {@code &} y {@code |} en el mismo nivel exige parentesis.</li>
+ * </ul>
+ * El orden puede ser {@code rating} o {@code first_release_date} seguido de {@code asc} o
+ * {@code desc}.
+ * <p>
+ * Cualquier otra cosa (otros campos, {@code !=} con un valor, textos, comodines...) no se
+ * interpreta: {@link #parse} devuelve vacio y la consulta se hace en IGDB, que es quien
+ * define su significado.
+ */
+final class GameFilterParser {
+
+    private final List<String> tokens;
+    private int position;
+
+    /**
+     * Fallo de interpretacion; no es un error, solo indica que la consulta va a IGDB.
+     */
+    private static final class UnsupportedQueryException extends RuntimeException {
+        UnsupportedQueryException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private GameFilterParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * @return El plan, o vacio si el filtro o el orden se salen del subconjunto soportado.
+     */
+    static Optional<GameFilterPlan> parse(String filter, String sort) {
+        try {
+            return Optional.of(new GameFilterPlan(parseFilter(filter), parseSort(sort)));
+        } catch (UnsupportedQueryException _) {
+            return Optional.empty();
+        }
+    }
+
+    private static Condition parseFilter(String filter) {
+        List<String> tokens = tokenize(withoutTrailingSemicolon(filter));
+        if (tokens.isEmpty()) {
+            return new GameFilterPlan.All();
+        }
+        GameFilterParser parser = new GameFilterParser(tokens);
+        Condition condition = parser.expression();
+        if (parser.position != tokens.size()) {
+            throw new UnsupportedQueryException();
+        }
+        return condition;
+    }
+
+    private static GameFilterPlan.Sort parseSort(String sort) {
+        String clause = withoutTrailingSemicolon(sort);
+        if (clause.isEmpty()) {
+            return null;
+        }
+        String[] parts = clause.split("\\s+");
+        if (parts.length != 2) {
+            throw new UnsupportedQueryException();
+        }
+        Field field = field(parts[0]);
+        if (field.isMultiValued()) {
+            throw new UnsupportedQueryException();
+        }
+        return switch (parts[1].toLowerCase(Locale.ROOT)) {
+            case "asc" -> new GameFilterPlan.Sort(field, false);
+            case "desc" -> new GameFilterPlan.Sort(field, true);
+            default -> throw new UnsupportedQueryException();
+        };
+    }
+
+    private Condition expression() {
+        Condition first = term();
+        String connector = peek();
+        if (!"&".equals(connector) && !"|".equals(connector)) {
+            return first;
+        }
+        List<Condition> operands = new ArrayList<>();
+        operands.add(first);
+        while (connector.equals(peek())) {
+            position++;
+            operands.add(term());
+        }
+        if ("&".equals(peek()) || "|".equals(peek())) {
+            throw new UnsupportedQueryException();
+        }
+        return "&".equals(connector) ? new GameFilterPlan.And(operands) : new GameFilterPlan.Or(operands);
+    }
+
+    private Condition term() {
+        if ("(".equals(peek())) {
+            position++;
+            Condition condition = expression();
+            expect(")");
+            return condition;
+        }
+        return comparison();
+    }
+
+    private Condition comparison() {
+        Field field = field(next());
+        String operator = next();
+        String value = next();
+
+        if ("null".equals(value)) {
+            return switch (operator) {
+                case "=" -> new GameFilterPlan.Present(field, false);
+                case "!=" -> new GameFilterPlan.Present(field, true);
+                default -> throw new UnsupportedQueryException();
+            };
+        }
+        if (field.isMultiValued()) {
+            if (!"=".equals(operator)) {
+                throw new UnsupportedQueryException();
+            }
+            return switch (value) {
+                case "(" -> new GameFilterPlan.Contains(field, false, idList(")"));
+                case "[" -> new GameFilterPlan.Contains(field, true, idList("]"));
+                default -> new GameFilterPlan.Contains(field, false, List.of(id(value)));
+            };
+        }
+        Operator comparison = switch (operator) {
+            case "=" -> Operator.EQUAL;
+            case ">" -> Operator.GREATER;
+            case ">=" -> Operator.GREATER_OR_EQUAL;
+            case "<" -> Operator.LESS;
+            case "<=" -> Operator.LESS_OR_EQUAL;
+            default -> throw new UnsupportedQueryException();
+        };
+        return new GameFilterPlan.Compare(field, comparison, number(value));
+    }
+
+    private List<Long> idList(String closing) {
+        List<Long> ids = new ArrayList<>();
+        ids.add(id(next()));
+        while (",".equals(peek())) {
+            position++;
+            ids.add(id(next()));
+        }
+        expect(closing);
+        return ids;
+    }
+
+    private static Field field(String name) {
+        for (Field field : Field.values()) {
+            if (field.igdbName().equals(name)) {
+                return field;
+            }
+        }
+        throw new UnsupportedQueryException();
+    }
+
+    private static long id(String token) {
+        try {
+            return Long.parseLong(token);
+        } catch (NumberFormatException _) {
+            throw new UnsupportedQueryException();
+        }
+    }
+
+    private static double number(String token) {
+        if (!token.matches("-?\\d+(\\.\\d+)?")) {
+            throw new UnsupportedQueryException();
+        }
+        return Double.parseDouble(token);
+    }
+
+    private String peek() {
+        return position < tokens.size() ? tokens.get(position) : null;
+    }
+
+    private String next() {
+        if (position == tokens.size()) {
+            throw new UnsupportedQueryException();
+        }
+        return tokens.get(position++);
+    }
+
+    private void expect(String token) {
+        if (!token.equals(next())) {
+            throw new UnsupportedQueryException();
+        }
+    }
+
+    /**
+     * Parte el filtro en nombres, numeros, operadores y signos. Un caracter fuera del
+     * subconjunto (comillas, comodines, llaves...) hace que la consulta no se soporte.
+     */
+    private static List<String> tokenize(String filter) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < filter.length()) {
+            char c = filter.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c >= 'a' && c <= 'z' || c == '_') {
+                int start = i;
+                while (i < filter.length() && (filter.charAt(i) >= 'a' && filter.charAt(i) <= 'z' || filter.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(filter.substring(start, i));
+            } else if (Character.isDigit(c) || c == '-' || c == '.') {
+                int start = i++;
+                while (i < filter.length() && (Character.isDigit(filter.charAt(i)) || filter.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(filter.substring(start, i));
+            } else if ((c == '!' || c == '>' || c == '<') && i + 1 < filter.length() && filter.charAt(i + 1) == '=') {
+                tokens.add(filter.substring(i, i + 2));
+                i += 2;
+            } else if ("=<>&|()[],".indexOf(c) >= 0) {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                throw new UnsupportedQueryException();
+            }
+        }
+        return tokens;
+    }
+
+    private static String withoutTrailingSemicolon(String clause) {
+        if (clause == null) {
+            return "";
+        }
+        String stripped = clause.strip();
+        return stripped.endsWith(";") ? stripped.substring(0, stripped.length() - 1).strip() : stripped;
+    }
+}
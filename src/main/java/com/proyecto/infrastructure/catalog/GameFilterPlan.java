@@ -0,0 +1,86 @@
+package com.proyecto.infrastructure.catalog;
+
+import java.util.List;
+
+/**
+ * Filtro y orden de IGDB ya interpretados por {@link GameFilterParser}, listos para
+ * ejecutarse sobre el catalogo local con {@link GameFilterIndex}.
+ *
+ * @param where Condicion que tienen que cumplir los juegos.
+ * @param sort  Orden de los resultados, o {@code null} para ordenar por id.
+ */
+public record GameFilterPlan(Condition where, Sort sort) {
+
+    /**
+     * Campos de IGDB que entiende el motor local.
+     */
+    public enum Field {
+        RATING("rating", false),
+        FIRST_RELEASE_DATE("first_release_date", false),
+        GENRES("genres", true),
+        PLATFORMS("platforms", true);
+
+        private final String igdbName;
+        private final boolean multiValued;
+
+        Field(String igdbName, boolean multiValued) {
+            this.igdbName = igdbName;
+            this.multiValued = multiValued;
+        }
+
+        public String igdbName() {
+            return igdbName;
+        }
+
+        public boolean isMultiValued() {
+            return multiValued;
+        }
+    }
+
+    public enum Operator {
+        EQUAL, GREATER, GREATER_OR_EQUAL, LESS, LESS_OR_EQUAL
+    }
+
+    public sealed interface Condition {
+    }
+
+    /**
+     * Todos los juegos: el filtro estaba vacio.
+     */
+    public record All() implements Condition {
+    }
+
+    public record And(List<Condition> operands) implements Condition {
+    }
+
+    public record Or(List<Condition> operands) implements Condition {
+    }
+
+    /**
+     * Comparacion de un campo numerico con un valor ({@code rating >= 80}). Un juego sin
+     * valor en el campo no la cumple.
+     */
+    public record Compare(Field field, Operator operator, double value) implements Condition {
+    }
+
+    /**
+     * {@code campo != null} (con {@code present}) o {@code campo = null}. Una lista vacia de
+     * generos o plataformas cuenta como ausente.
+     */
+    public record Present(Field field, boolean present) implements Condition {
+    }
+
+    /**
+     * Generos o plataformas que contienen alguno de los ids ({@code genres = (12, 31)}) o
+     * todos ({@code genres = [12, 31]}).
+     */
+    public record Contains(Field field, boolean all, List<Long> ids) implements Condition {
+    }
+
+    /**
+     * Orden por un campo numerico. Los juegos sin valor van al final en los dos sentidos, y
+     * los empates se deshacen por id.
+     */
+    public record Sort(Field field, boolean descending) {
+    }
+}
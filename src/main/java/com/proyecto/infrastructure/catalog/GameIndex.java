@@ -0,0 +1,24 @@
+package com.proyecto.infrastructure.catalog;
+
+import java.util.Collection;
+
+/**
+ * Indice en memoria sobre los juegos conocidos: los del catalogo local y los que IGDB ha
+ * devuelto a {@link LocalCatalogGameProvider}. Se alimenta al arrancar con el contenido del
+ * catalogo ({@link CatalogIndexLoader}), con cada pagina que guarda {@link CatalogSyncJob} y
+ * con cada respuesta de IGDB.
+ */
+public interface GameIndex {
+
+    /**
+     * Añade los juegos, o los actualiza si ya estaban indexados. Un juego con un
+     * {@link IndexedGame#updatedAt()} anterior al de la version indexada se ignora.
+     */
+    void addAll(Collection<IndexedGame> games);
+
+    /**
+     * Quita los juegos que solo se conocen por respuestas de IGDB
+     * ({@link IndexedGame#UNVERSIONED}); los del catalogo se quedan.
+     */
+    void removeUnversioned(Collection<Long> gameIds);
+}
@@ -0,0 +1,491 @@
+package com.proyecto.infrastructure.catalog;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indice invertido en memoria sobre los nombres de los juegos conocidos, para responder las
+ * busquedas por nombre sin llamar a IGDB.
+ * <p>
+ * Los nombres se parten en palabras con {@link TextNormalizer}. Un juego coincide con la
+ * busqueda si su nombre contiene todas sus palabras, y los resultados se ordenan por BM25:
+ * pesan mas las palabras raras en el catalogo y los nombres cortos, de modo que "zelda"
+ * devuelve antes "The Legend of Zelda" que un recopilatorio con un nombre largo.
+ * <p>
+ * Cada juego recibe un numero de documento creciente, asi que las listas de cada palabra
+ * estan ordenadas y la interseccion se hace recorriendo la lista mas corta y avanzando en las
+ * demas, sin tablas auxiliares por consulta. Si el nombre de un juego cambia, su documento
+ * anterior se marca como borrado y se añade uno nuevo. Cuando hay mas documentos borrados que
+ * vivos el indice se rehace solo con los vivos.
+ * <p>
+ * Para la busqueda aproximada ({@link #searchFuzzy}) cada palabra del vocabulario se indexa
+ * tambien por sus trigramas. Una palabra de la busqueda que no existe se sustituye por la
+ * palabra conocida mas cercana (distancia de edicion con transposiciones, como mucho 1 o 2
+ * segun su longitud), elegida entre las que comparten trigramas con ella. El trabajo por
+ * consulta esta acotado: se corrigen como mucho {@value #MAX_FUZZY_TERMS} palabras, se
+ * recorren como mucho {@value #MAX_SCANNED_TERMS} entradas de trigramas por palabra y solo se
+ * calcula la distancia de las {@value #MAX_VERIFIED_TERMS} candidatas con mas trigramas en
+ * comun.
+ */
+@Component
+@ConditionalOnProperty(name = "igdb.catalog.enabled", havingValue = "true")
+public class GameSearchIndex implements GameIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_FUZZY_TERMS = 4;
+    private static final int MAX_SCANNED_TERMS = 20_000;
+    private static final int MAX_VERIFIED_TERMS = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Postings> postingsByTerm = new HashMap<>();
+    private Map<Long, Integer> docById = new HashMap<>();
+    private BitSet deleted = new BitSet();
+    private List<String> terms = new ArrayList<>();
+    private Map<String, TermIds> termsByTrigram = new HashMap<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int docCount;
+    private int liveDocs;
+    private long liveLength;
+
+    /**
+     * Documentos que contienen una palabra, en orden creciente, con su frecuencia en el nombre.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        /**
+         * Primera posicion desde {@code from} cuyo documento es {@code >= doc}, con busqueda
+         * exponencial seguida de binaria.
+         */
+        int advance(int from, int doc) {
+            int bound = 1;
+            while (from + bound < size && docs[from + bound] < doc) {
+                bound *= 2;
+            }
+            int low = from + bound / 2;
+            int high = Math.min(from + bound, size - 1);
+            if (low >= size || docs[high] < doc) {
+                return size;
+            }
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (docs[mid] < doc) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Palabras del vocabulario que contienen un trigrama, por su posicion en {@code terms}.
+     */
+    private static final class TermIds {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    private record ScoredDoc(int doc, double score) {}
+
+    private record Candidate(int term, int sharedTrigrams) {}
+
+    @Override
+    public void addAll(Collection<IndexedGame> games) {
+        lock.writeLock().lock();
+        try {
+            games.forEach(this::add);
+            compactIfMostlyDeleted();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeUnversioned(Collection<Long> gameIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : gameIds) {
+                Integer doc = docById.get(id);
+                if (doc != null && versions[doc] == IndexedGame.UNVERSIONED) {
+                    delete(doc);
+                }
+            }
+            compactIfMostlyDeleted();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Juegos cuyo nombre contiene todas las palabras de {@code query}, del mas relevante al
+     * menos.
+     *
+     * @return Ids de IGDB de como mucho {@code limit} juegos.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = TextNormalizer.tokens(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return searchTerms(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Como {@link #search}, pero tolerando errores tipograficos: cada palabra que no aparece
+     * en ningun nombre se cambia por la palabra conocida mas parecida.
+     *
+     * @return Ids de IGDB de como mucho {@code limit} juegos; vacia si alguna palabra no se
+     * parece a ninguna conocida.
+     */
+    public List<Long> searchFuzzy(String query, int limit) {
+        List<String> queryTerms = TextNormalizer.tokens(query).stream().distinct().toList();
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<String> corrected = new ArrayList<>(queryTerms.size());
+            int corrections = 0;
+            for (String term : queryTerms) {
+                if (postingsByTerm.containsKey(term)) {
+                    corrected.add(term);
+                    continue;
+                }
+                String closest = ++corrections <= MAX_FUZZY_TERMS ? closestTerm(term) : null;
+                if (closest == null) {
+                    return List.of();
+                }
+                corrected.add(closest);
+            }
+            return searchTerms(corrected.stream().distinct().toList(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> searchTerms(List<String> queryTerms, int limit) {
+        List<Postings> lists = new ArrayList<>(queryTerms.size());
+        for (String term : queryTerms) {
+            Postings postings = postingsByTerm.get(term);
+            if (postings == null) {
+                return List.of();
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(postings -> postings.size));
+        return idsOf(topDocs(lists, limit));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(IndexedGame game) {
+        Integer previous = docById.get(game.id());
+        if (previous != null) {
+            if (game.updatedAt() < versions[previous]) {
+                return;
+            }
+            if (Objects.equals(names[previous], game.name())) {
+                versions[previous] = game.updatedAt();
+                return;
+            }
+            delete(previous);
+        }
+        List<String> tokens = TextNormalizer.tokens(game.name());
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        int doc = docCount++;
+        if (doc == ids.length) {
+            ids = Arrays.copyOf(ids, doc * 2);
+            names = Arrays.copyOf(names, doc * 2);
+            lengths = Arrays.copyOf(lengths, doc * 2);
+            versions = Arrays.copyOf(versions, doc * 2);
+        }
+        ids[doc] = game.id();
+        names[doc] = game.name();
+        lengths[doc] = tokens.size();
+        versions[doc] = game.updatedAt();
+        docById.put(game.id(), doc);
+        liveDocs++;
+        liveLength += tokens.size();
+
+        Map<String, Integer> freqs = new HashMap<>();
+        tokens.forEach(token -> freqs.merge(token, 1, Integer::sum));
+        freqs.forEach((term, freq) -> postingsByTerm.computeIfAbsent(term, this::newTerm).add(doc, freq));
+    }
+
+    private Postings newTerm(String term) {
+        int id = terms.size();
+        terms.add(term);
+        for (String trigram : trigrams(term)) {
+            termsByTrigram.computeIfAbsent(trigram, _ -> new TermIds()).add(id);
+        }
+        return new Postings();
+    }
+
+    /**
+     * Palabra del vocabulario mas cercana a {@code term}; a igual distancia, la que aparece en
+     * mas nombres.
+     *
+     * @return La palabra, o {@code null} si ninguna esta a la distancia permitida.
+     */
+    private String closestTerm(String term) {
+        int maxEdits = term.length() < 3 ? 0 : term.length() <= 4 ? 1 : 2;
+        if (maxEdits == 0) {
+            return null;
+        }
+
+        // Primero los trigramas mas raros: si se agota el presupuesto, los que quedan son
+        // los que menos distinguen.
+        List<TermIds> lists = new ArrayList<>();
+        for (String trigram : trigrams(term)) {
+            TermIds ids = termsByTrigram.get(trigram);
+            if (ids != null) {
+                lists.add(ids);
+            }
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.size));
+        Map<Integer, Integer> shared = new HashMap<>();
+        int scanned = 0;
+        int trigramsSeen = 0;
+        for (TermIds ids : lists) {
+            if (scanned > 0 && scanned + ids.size > MAX_SCANNED_TERMS) {
+                break;
+            }
+            for (int i = 0; i < ids.size; i++) {
+                shared.merge(ids.ids[i], 1, Integer::sum);
+            }
+            scanned += ids.size;
+            trigramsSeen++;
+        }
+
+        // Cada edicion cambia como mucho tres trigramas.
+        int minShared = Math.max(1, trigramsSeen - 3 * maxEdits);
+        List<Candidate> candidates = new ArrayList<>();
+        shared.forEach((id, count) -> {
+            if (count >= minShared && Math.abs(terms.get(id).length() - term.length()) <= maxEdits) {
+                candidates.add(new Candidate(id, count));
+            }
+        });
+        candidates.sort(Comparator.comparingInt(Candidate::sharedTrigrams).reversed());
+
+        String closest = null;
+        int closestDistance = maxEdits + 1;
+        int closestFrequency = 0;
+        for (Candidate candidate : candidates.subList(0, Math.min(candidates.size(), MAX_VERIFIED_TERMS))) {
+            String other = terms.get(candidate.term());
+            int distance = editDistance(term, other, maxEdits);
+            if (distance > maxEdits) {
+                continue;
+            }
+            int frequency = postingsByTerm.get(other).size;
+            if (distance < closestDistance
+                    || distance == closestDistance && (frequency > closestFrequency
+                    || frequency == closestFrequency && other.compareTo(closest) < 0)) {
+                closest = other;
+                closestDistance = distance;
+                closestFrequency = frequency;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Trigramas distintos de la palabra, con un marcador al principio y al final para que los
+     * extremos pesen igual que el centro.
+     */
+    private static List<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        List<String> trigrams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            String trigram = padded.substring(i, i + 3);
+            if (!trigrams.contains(trigram)) {
+                trigrams.add(trigram);
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Distancia de edicion contando una transposicion de letras vecinas como una sola edicion
+     * ("zelad" esta a 1 de "zelda").
+     *
+     * @return La distancia, o {@code maxEdits + 1} si es mayor que {@code maxEdits}.
+     */
+    private static int editDistance(String a, String b, int maxEdits) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, beforePrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxEdits + 1);
+    }
+
+    private void delete(int doc) {
+        deleted.set(doc);
+        docById.remove(ids[doc]);
+        liveDocs--;
+        liveLength -= lengths[doc];
+    }
+
+    /**
+     * Los documentos borrados siguen en las listas de sus palabras hasta que se rehace el
+     * indice. Sin esto, los juegos vistos en IGDB que entran y salen lo harian crecer sin
+     * limite.
+     */
+    private void compactIfMostlyDeleted() {
+        int deletedDocs = docCount - liveDocs;
+        if (deletedDocs < INITIAL_CAPACITY || deletedDocs <= liveDocs) {
+            return;
+        }
+        List<IndexedGame> live = new ArrayList<>(liveDocs);
+        for (int doc = deleted.nextClearBit(0); doc < docCount; doc = deleted.nextClearBit(doc + 1)) {
+            live.add(new IndexedGame(ids[doc], names[doc], null, null, null, null, versions[doc]));
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, live.size());
+        postingsByTerm = new HashMap<>();
+        docById = new HashMap<>();
+        deleted = new BitSet();
+        terms = new ArrayList<>();
+        termsByTrigram = new HashMap<>();
+        ids = new long[capacity];
+        names = new String[capacity];
+        lengths = new int[capacity];
+        versions = new long[capacity];
+        docCount = 0;
+        liveDocs = 0;
+        liveLength = 0;
+        live.forEach(this::add);
+    }
+
+    /**
+     * Recorre la lista mas corta y, para cada documento, busca el mismo en las demas; solo
+     * puntuan los que aparecen en todas.
+     */
+    private List<ScoredDoc> topDocs(List<Postings> lists, int limit) {
+        double averageLength = liveDocs > 0 ? (double) liveLength / liveDocs : 1;
+        double[] idf = new double[lists.size()];
+        for (int i = 0; i < lists.size(); i++) {
+            int df = lists.get(i).size;
+            idf[i] = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+        }
+
+        Comparator<ScoredDoc> worstFirst = Comparator.comparingDouble(ScoredDoc::score)
+                .thenComparing(scored -> ids[scored.doc()], Comparator.reverseOrder());
+        PriorityQueue<ScoredDoc> top = new PriorityQueue<>(limit + 1, worstFirst);
+        Postings lead = lists.getFirst();
+        int[] cursors = new int[lists.size()];
+
+        candidates:
+        for (int i = 0; i < lead.size; i++) {
+            int doc = lead.docs[i];
+            if (deleted.get(doc)) {
+                continue;
+            }
+            double score = termScore(idf[0], lead.freqs[i], lengths[doc], averageLength);
+            for (int t = 1; t < lists.size(); t++) {
+                Postings other = lists.get(t);
+                cursors[t] = other.advance(cursors[t], doc);
+                if (cursors[t] == other.size) {
+                    break candidates;
+                }
+                if (other.docs[cursors[t]] != doc) {
+                    continue candidates;
+                }
+                score += termScore(idf[t], other.freqs[cursors[t]], lengths[doc], averageLength);
+            }
+            top.offer(new ScoredDoc(doc, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<ScoredDoc> result = new ArrayList<>(top);
+        result.sort(worstFirst.reversed());
+        return result;
+    }
+
+    private static double termScore(double idf, int freq, int length, double averageLength) {
+        return idf * freq * (K1 + 1) / (freq + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private List<Long> idsOf(List<ScoredDoc> docs) {
+        return docs.stream().map(scored -> ids[scored.doc()]).toList();
+    }
+}
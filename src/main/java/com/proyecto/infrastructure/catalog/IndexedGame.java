@@ -0,0 +1,49 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.domain.model.Game;
+
+import java.util.List;
+
+/**
+ * Lo que los indices en memoria necesitan de un juego.
+ * <p>
+ * Los ids de generos y plataformas y la fecha de lanzamiento solo se conocen para los juegos
+ * del catalogo local; en los que llegan en una respuesta de IGDB las listas son {@code null}.
+ *
+ * @param id               Id de IGDB del juego.
+ * @param name             Nombre del juego.
+ * @param rating           Puntuacion media (0-100); puede ser {@code null}.
+ * @param firstReleaseDate {@code first_release_date} de IGDB (segundos desde epoch); puede ser {@code null}.
+ * @param genreIds         Ids de IGDB de los generos, o {@code null} si no se conocen.
+ * @param platformIds      Ids de IGDB de las plataformas, o {@code null} si no se conocen.
+ * @param updatedAt        {@code updated_at} de IGDB de esta version del juego en el catalogo, o
+ *                         {@link #UNVERSIONED} si llega en una respuesta de IGDB. Los indices
+ *                         ignoran una version anterior a la que ya tienen: el arranque y la
+ *                         sincronizacion los alimentan a la vez y pueden llegar desordenadas.
+ */
+public record IndexedGame(long id, String name, Double rating, Long firstReleaseDate, List<Long> genreIds,
+                          List<Long> platformIds, long updatedAt) {
+
+    public static final long UNVERSIONED = 0;
+
+    public IndexedGame(long id, String name, Double rating) {
+        this(id, name, rating, null, null, null, UNVERSIONED);
+    }
+
+    public static IndexedGame of(Game game) {
+        return new IndexedGame(game.id(), game.name(), game.rating());
+    }
+
+    public static IndexedGame of(CatalogGame catalogGame) {
+        Game game = catalogGame.game();
+        return new IndexedGame(game.id(), game.name(), game.rating(), catalogGame.firstReleaseDate(),
+                catalogGame.genreIds(), catalogGame.platformIds(), catalogGame.updatedAt());
+    }
+
+    /**
+     * Si se conocen los datos por los que se filtra, es decir, si el juego viene del catalogo.
+     */
+    public boolean hasFilterAttributes() {
+        return genreIds != null && platformIds != null;
+    }
+}
@@ -0,0 +1,301 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proyecto.application.port.out.provider.GameProviderInterface;
+import com.proyecto.domain.model.Game;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sirve los juegos desde el catalogo local que mantiene {@link CatalogSyncJob} y recurre a
+ * IGDB solo para los ids que aun no se han sincronizado.
+ * <p>
+ * Se activa con {@code igdb.catalog.enabled=true} y sustituye a {@code IgdbApiAdapter} como
+ * {@link GameProviderInterface}.
+ * <p>
+ * Las busquedas por nombre se resuelven con {@link GameSearchIndex} si encuentra al menos
+ * {@code igdb.catalog.search.min-hits} juegos; si no, se pregunta a IGDB. Los juegos que
+ * devuelve IGDB y aun no estan en el catalogo se guardan en memoria (hasta
+ * {@code igdb.catalog.seen-games.max-size}) y se añaden a los indices, asi que una busqueda
+ * repetida o parecida ya no sale del proceso. Al salir de memoria se quitan tambien de los
+ * indices: un id que ya no se puede resolver solo ocuparia el sitio de otros resultados.
+ * <p>
+ * En la busqueda aproximada ({@link #searchByNameFuzzy}) las palabras mal escritas se corrigen
+ * contra el vocabulario del indice y basta con un resultado local para no preguntar a IGDB,
+ * que para una errata no devolveria nada y aun asi gastaria un token del rate limiter.
+ * <p>
+ * Los filtros que entiende {@link GameFilterParser} se ejecutan sobre {@link GameFilterIndex}
+ * (total, orden y paginacion incluidos) en cuanto el catalogo esta completo
+ * ({@link CatalogStatus}); el resto, y todos hasta entonces, van a IGDB.
+ * <p>
+ * Las variantes asincronas consultan el catalogo en el hilo que las invoca (una lectura por
+ * clave primaria) y solo delegan en la variante asincrona de IGDB lo que falta, para que la
+ * llamada a IGDB se siga atribuyendo en el rate limiter a quien la origino.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "igdb.catalog.enabled", havingValue = "true")
+public class LocalCatalogGameProvider implements GameProviderInterface {
+
+    private static final int SEARCH_LIMIT = 50;
+    private static final long DEFAULT_SEEN_GAMES_MAX_SIZE = 20_000;
+    private static final int DEFAULT_FILTER_LIMIT = 50;
+
+    private final GameCatalogStore catalog;
+    private final GameProviderInterface igdb;
+    private final GameSearchIndex searchIndex;
+    private final GameFilterIndex filterIndex;
+    private final CatalogStatus status;
+    private final List<GameIndex> indexes;
+    private final boolean searchEnabled;
+    private final int searchMinHits;
+    private final boolean filterEnabled;
+    private final Cache<Long, Game> seenGames;
+
+    public LocalCatalogGameProvider(GameCatalogStore catalog, @Qualifier("igdbApiAdapter") GameProviderInterface igdb,
+                                    GameSearchIndex searchIndex, GameFilterIndex filterIndex, CatalogStatus status,
+                                    List<GameIndex> indexes, IgdbApiConfig apiConfig) {
+        this.catalog = catalog;
+        this.igdb = igdb;
+        this.searchIndex = searchIndex;
+        this.filterIndex = filterIndex;
+        this.status = status;
+        this.indexes = indexes;
+        this.searchEnabled = apiConfig.isCatalogSearchEnabled();
+        this.searchMinHits = Math.max(1, apiConfig.getCatalogSearchMinHits());
+        this.filterEnabled = apiConfig.isCatalogFilterEnabled();
+        this.seenGames = Caffeine.newBuilder()
+                .maximumSize(apiConfig.getCatalogSeenGamesMaxSize() > 0 ? apiConfig.getCatalogSeenGamesMaxSize() : DEFAULT_SEEN_GAMES_MAX_SIZE)
+                .<Long, Game>evictionListener((id, _, _) -> forget(id))
+                .build();
+    }
+
+    @Override
+    public Optional<Game> findByExternalId(Long externalId) {
+        Optional<Game> local = catalog.findById(externalId);
+        if (local.isPresent()) {
+            return local;
+        }
+        Optional<Game> fetched = igdb.findByExternalId(externalId);
+        fetched.ifPresent(game -> remember(List.of(game)));
+        return fetched;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Game>> findByExternalIdAsync(Long externalId) {
+        Optional<Game> local = catalog.findById(externalId);
+        if (local.isPresent()) {
+            return CompletableFuture.completedFuture(local);
+        }
+        return igdb.findByExternalIdAsync(externalId).thenApply(fetched -> {
+            fetched.ifPresent(game -> remember(List.of(game)));
+            return fetched;
+        });
+    }
+
+    /**
+     * Los juegos que no estan en el catalogo se piden a IGDB en una unica llamada. El
+     * resultado respeta el orden de la peticion, sin ids repetidos.
+     */
+    @Override
+    public List<Game> findMultipleByExternalIds(List<Long> externalIds) {
+        if (externalIds == null || externalIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestedIds = requestedIds(externalIds);
+        Map<Long, Game> gamesById = new HashMap<>(catalog.findAllById(requestedIds));
+        List<Long> missingIds = missingIds(requestedIds, gamesById);
+        if (!missingIds.isEmpty()) {
+            List<Game> fetched = igdb.findMultipleByExternalIds(missingIds);
+            remember(fetched);
+            fetched.forEach(game -> gamesById.put(game.id(), game));
+        }
+        return inRequestOrder(requestedIds, gamesById);
+    }
+
+    @Override
+    public CompletableFuture<List<Game>> findMultipleByExternalIdsAsync(List<Long> externalIds) {
+        if (externalIds == null || externalIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        List<Long> requestedIds = requestedIds(externalIds);
+        Map<Long, Game> gamesById = new HashMap<>(catalog.findAllById(requestedIds));
+        List<Long> missingIds = missingIds(requestedIds, gamesById);
+        if (missingIds.isEmpty()) {
+            return CompletableFuture.completedFuture(inRequestOrder(requestedIds, gamesById));
+        }
+        return igdb.findMultipleByExternalIdsAsync(missingIds).thenApply(fetched -> {
+            remember(fetched);
+            fetched.forEach(game -> gamesById.put(game.id(), game));
+            return inRequestOrder(requestedIds, gamesById);
+        });
+    }
+
+    @Override
+    public List<Game> searchByName(String name) {
+        Optional<List<Game>> local = searchLocally(name);
+        if (local.isPresent()) {
+            return local.get();
+        }
+        List<Game> fetched = igdb.searchByName(name);
+        remember(fetched);
+        return fetched;
+    }
+
+    @Override
+    public List<Game> searchByNameFuzzy(String name) {
+        Optional<List<Game>> local = searchLocally(name);
+        if (local.isPresent()) {
+            return local.get();
+        }
+        if (searchEnabled) {
+            List<Game> corrected = resolve(searchIndex.searchFuzzy(name, SEARCH_LIMIT));
+            if (!corrected.isEmpty()) {
+                return corrected;
+            }
+        }
+        List<Game> fetched = igdb.searchByName(name);
+        remember(fetched);
+        return fetched;
+    }
+
+    @Override
+    public CompletableFuture<List<Game>> searchByNameAsync(String name) {
+        Optional<List<Game>> local = searchLocally(name);
+        if (local.isPresent()) {
+            return CompletableFuture.completedFuture(local.get());
+        }
+        return igdb.searchByNameAsync(name).thenApply(fetched -> {
+            remember(fetched);
+            return fetched;
+        });
+    }
+
+    /**
+     * Resultados del indice local, o vacio si no llegan al minimo y hay que preguntar a IGDB.
+     */
+    private Optional<List<Game>> searchLocally(String name) {
+        if (!searchEnabled) {
+            return Optional.empty();
+        }
+        List<Long> ids = searchIndex.search(name, SEARCH_LIMIT);
+        if (ids.size() < searchMinHits) {
+            return Optional.empty();
+        }
+        List<Game> games = resolve(ids);
+        return games.size() >= searchMinHits ? Optional.of(games) : Optional.empty();
+    }
+
+    /**
+     * Juegos conocidos con esos ids, del catalogo o de los vistos en respuestas de IGDB, en el
+     * mismo orden.
+     */
+    private List<Game> resolve(List<Long> ids) {
+        Map<Long, Game> gamesById = new HashMap<>(catalog.findAllById(ids));
+        List<Long> missingIds = missingIds(ids, gamesById);
+        if (!missingIds.isEmpty()) {
+            gamesById.putAll(seenGames.getAllPresent(missingIds));
+        }
+        return inRequestOrder(ids, gamesById);
+    }
+
+    /**
+     * Se indexan antes de guardarlos: asi, si la cache los expulsa enseguida, se quitan de los
+     * indices despues de haberlos añadido y no al reves.
+     */
+    private void remember(Collection<Game> games) {
+        if (games.isEmpty()) {
+            return;
+        }
+        List<IndexedGame> indexed = games.stream().map(IndexedGame::of).toList();
+        indexes.forEach(index -> index.addAll(indexed));
+        games.forEach(game -> seenGames.put(game.id(), game));
+    }
+
+    private void forget(Long id) {
+        if (id != null) {
+            indexes.forEach(index -> index.removeUnversioned(List.of(id)));
+        }
+    }
+
+    @Override
+    public Page<Game> filterGames(String filter, String sort, Integer limit, Integer offset) {
+        return filterLocally(filter, sort, limit, offset)
+                .orElseGet(() -> igdb.filterGames(filter, sort, limit, offset));
+    }
+
+    @Override
+    public CompletableFuture<Page<Game>> filterGamesAsync(String filter, String sort, Integer limit, Integer offset) {
+        Optional<Page<Game>> local = filterLocally(filter, sort, limit, offset);
+        if (local.isPresent()) {
+            return CompletableFuture.completedFuture(local.get());
+        }
+        return igdb.filterGamesAsync(filter, sort, limit, offset);
+    }
+
+    /**
+     * Pagina calculada sobre el catalogo local, con el mismo formato que la de IGDB, o vacio
+     * si hay que preguntar a IGDB.
+     */
+    private Optional<Page<Game>> filterLocally(String filter, String sort, Integer limit, Integer offset) {
+        int pageSize = limit != null ? limit : DEFAULT_FILTER_LIMIT;
+        int pageOffset = offset != null ? offset : 0;
+        if (!filterEnabled || !status.isComplete() || pageSize <= 0 || pageOffset < 0) {
+            return Optional.empty();
+        }
+        Optional<GameFilterPlan> plan = GameFilterParser.parse(filter, sort);
+        if (plan.isEmpty()) {
+            return Optional.empty();
+        }
+
+        GameFilterIndex.Result result = filterIndex.execute(plan.get(), pageSize, pageOffset);
+        if (result.total() == 0) {
+            return Optional.of(Page.empty());
+        }
+        Map<Long, Game> gamesById = catalog.findAllById(result.ids());
+        if (gamesById.size() < result.ids().size()) {
+            // El indice y el almacen no coinciden (p. ej. un lote a medio guardar).
+            return Optional.empty();
+        }
+        List<Game> games = inRequestOrder(result.ids(), gamesById);
+        return Optional.of(new PageImpl<>(games, PageRequest.of(pageOffset / pageSize, pageSize), result.total()));
+    }
+
+    private static List<Long> requestedIds(List<Long> externalIds) {
+        return externalIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static List<Long> missingIds(List<Long> requestedIds, Map<Long, Game> found) {
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requestedIds) {
+            if (!found.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+
+    private static List<Game> inRequestOrder(List<Long> requestedIds, Map<Long, Game> gamesById) {
+        return requestedIds.stream()
+                .map(gamesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.application.port.out.provider.GameSuggestionProviderInterface;
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.domain.model.GameSuggestion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sugerencias sin catalogo local ({@code igdb.catalog.enabled=false}): no hay ningun indice
+ * del que sacarlas y preguntar a IGDB en cada pulsacion agotaria el rate limiter, asi que se
+ * responde que el servicio no esta disponible en lugar de una lista vacia.
+ */
+@Component
+@ConditionalOnProperty(name = "igdb.catalog.enabled", havingValue = "false", matchIfMissing = true)
+public class UnavailableGameSuggestionProvider implements GameSuggestionProviderInterface {
+
+    @Override
+    public List<GameSuggestion> suggestByPrefix(String prefix, int limit) {
+        throw new GameProviderUnavailableException("Game suggestions need the local catalog (igdb.catalog.enabled=true)");
+    }
+}
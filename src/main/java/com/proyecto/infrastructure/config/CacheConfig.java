@@ -1,25 +1,162 @@
 package com.proyecto.infrastructure.config;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
+/**
+ * Caches de las respuestas de IGDB sobre Caffeine.
+ * <p>
+ * Cada cache tiene su propio limite y caducidad. Caffeine aplica W-TinyLFU para admitir y
+ * desalojar entradas: una rafaga de busquedas unicas (un rastreo, por ejemplo) no expulsa a
+ * las entradas que se consultan a menudo. Las caches que guardan listas de juegos se limitan
+ * por peso (numero de juegos) en lugar de por numero de entradas, para que la memoria
+ * ocupada no dependa del tamaño de cada resultado.
+ * <p>
+ * El TTL de cada cache es el tiempo durante el que una entrada se considera fresca. Una
+ * entrada que se lee tras {@code refresh-ahead-percent} de su TTL se sigue sirviendo al
+ * instante mientras una unica recarga en segundo plano la actualiza
+ * ({@link CacheEntryReloader}); si nadie la lee, caduca sin generar llamadas a IGDB. Tras el
+ * TTL aun se sirve durante un margen de {@code stale-grace-percent} del TTL, de modo que las
+ * entradas calientes no provocan un fallo sincrono ni un pico de llamadas al caducar.
+ * <p>
+ * Las respuestas negativas (juego inexistente, busqueda o filtro sin resultados) se cachean
+ * solo {@code negative-ttl-seconds}: protegen a IGDB de ids inventados sin ocultar durante
+ * horas un juego que acaba de publicarse. Los fallos de IGDB no llegan a cachearse.
+ * <p>
+ * {@code igdb-last-known-good} guarda ademas el ultimo valor obtenido de cada entrada durante
+ * mucho mas tiempo; solo se consulta cuando IGDB no responde o su circuit breaker esta abierto.
+ */
 @Configuration
 public class CacheConfig {
 
+    @Value("${igdb.cache.game-by-id.max-size:10000}")
+    private long gameByIdMaxSize;
+
+    @Value("${igdb.cache.game-by-id.ttl-minutes:1440}")
+    private long gameByIdTtlMinutes;
+
+    @Value("${igdb.cache.games-by-name.max-games:20000}")
+    private long gamesByNameMaxGames;
+
+    @Value("${igdb.cache.games-by-name.ttl-minutes:60}")
+    private long gamesByNameTtlMinutes;
+
+    @Value("${igdb.cache.count-by-filter.max-size:5000}")
+    private long countByFilterMaxSize;
+
+    @Value("${igdb.cache.count-by-filter.ttl-minutes:360}")
+    private long countByFilterTtlMinutes;
+
+    @Value("${igdb.cache.filter-blocks.max-games:50000}")
+    private long filterBlocksMaxGames;
+
+    @Value("${igdb.cache.filter-blocks.ttl-minutes:60}")
+    private long filterBlocksTtlMinutes;
+
+    @Value("${igdb.cache.platforms.ttl-minutes:1440}")
+    private long platformsTtlMinutes;
+
+    @Value("${igdb.cache.last-known-good.max-games:50000}")
+    private long lastKnownGoodMaxGames;
+
+    @Value("${igdb.cache.last-known-good.ttl-hours:168}")
+    private long lastKnownGoodTtlHours;
+
+    @Value("${igdb.cache.refresh-ahead-percent:80}")
+    private long refreshAheadPercent;
+
+    @Value("${igdb.cache.stale-grace-percent:50}")
+    private long staleGracePercent;
+
+    @Value("${igdb.cache.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
+
+    // Las recargas llaman a IGDB y esperan al rate limiter: hilos virtuales en lugar del
+    // ForkJoinPool comun que Caffeine usaria por defecto.
+    private final Executor refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(List.of(
-                "igdb-game-by-id",
-                "igdb-games-by-ids",
-                "igdb-games-by-name",
-                "igdb-games-by-filter",
-                "igdb-platforms"
-        ));
+    public CacheManager cacheManager(ObjectProvider<CacheEntryReloader> cacheEntryReloader) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Sin caches dinamicas: un nombre no registrado aqui no crea una cache sin limites.
+        cacheManager.setCacheNames(List.of());
+        register(cacheManager, cacheEntryReloader, "igdb-game-by-id",
+                Caffeine.newBuilder().maximumSize(gameByIdMaxSize), gameByIdTtlMinutes);
+        register(cacheManager, cacheEntryReloader, "igdb-games-by-name",
+                gameCountBounded(gamesByNameMaxGames), gamesByNameTtlMinutes);
+        register(cacheManager, cacheEntryReloader, "igdb-games-count-by-filter",
+                Caffeine.newBuilder().maximumSize(countByFilterMaxSize), countByFilterTtlMinutes);
+        register(cacheManager, cacheEntryReloader, "igdb-games-filter-blocks",
+                gameCountBounded(filterBlocksMaxGames), filterBlocksTtlMinutes);
+        register(cacheManager, cacheEntryReloader, "igdb-platforms",
+                Caffeine.newBuilder().maximumSize(1), platformsTtlMinutes);
+        cacheManager.registerCustomCache("igdb-last-known-good", gameCountBounded(lastKnownGoodMaxGames)
+                .expireAfterWrite(Duration.ofHours(lastKnownGoodTtlHours))
+                .build());
         return cacheManager;
     }
+
+    /**
+     * Registra la cache caducando tras el TTL mas el margen de gracia (o tras el TTL negativo
+     * si la entrada es una respuesta vacia) y, si la recarga
+     * anticipada esta activada, como cache de carga con {@code refreshAfterWrite}. Su
+     * {@code load} no carga nada: los fallos los sigue resolviendo el adaptador en el hilo de
+     * la peticion, y el cargador solo se usa para las recargas en segundo plano.
+     */
+    private void register(CaffeineCacheManager cacheManager, ObjectProvider<CacheEntryReloader> cacheEntryReloader,
+                          String cacheName, Caffeine<Object, Object> builder, long ttlMinutes) {
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        Duration ttlWithGrace = ttl.plus(ttl.multipliedBy(Math.max(0, staleGracePercent)).dividedBy(100));
+        Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        builder.expireAfter(Expiry.writing((Object _, Object value) -> isNegative(value) ? negativeTtl : ttlWithGrace));
+        if (refreshAheadPercent <= 0) {
+            cacheManager.registerCustomCache(cacheName, builder.build());
+            return;
+        }
+
+        builder.refreshAfterWrite(ttl.multipliedBy(Math.min(refreshAheadPercent, 100)).dividedBy(100))
+                .executor(refreshExecutor);
+        cacheManager.registerCustomCache(cacheName, builder.build(new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                return null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                Object fresh = cacheEntryReloader.getObject().reload(cacheName, key);
+                return fresh != null ? fresh : NullValue.INSTANCE;
+            }
+        }));
+    }
+
+    private static boolean isNegative(Object value) {
+        return value instanceof NullValue
+                || (value instanceof Collection<?> collection && collection.isEmpty())
+                || (value instanceof Long count && count == 0);
+    }
+
+    /**
+     * Limita la cache por el numero total de juegos guardados. Cada entrada pesa lo que su
+     * lista, y al menos 1 para que los resultados vacios tambien cuenten.
+     */
+    private static Caffeine<Object, Object> gameCountBounded(long maxGames) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxGames)
+                .weigher((Object _, Object value) -> value instanceof Collection<?> games ? Math.max(1, games.size()) : 1);
+    }
 }
@@ -0,0 +1,18 @@
+package com.proyecto.infrastructure.config;
+
+/**
+ * Recarga en segundo plano una entrada de las caches de IGDB que se sigue leyendo cuando
+ * esta a punto de caducar (ver {@link CacheConfig}).
+ */
+public interface CacheEntryReloader {
+
+    /**
+     * Vuelve a obtener del proveedor el valor de una entrada cacheada.
+     *
+     * @param cacheName Nombre de la cache a la que pertenece la entrada.
+     * @param key       Clave de la entrada.
+     * @return El valor nuevo; {@code null} si el proveedor confirma que ya no existe.
+     * @throws RuntimeException Si no se pudo refrescar; la cache sigue sirviendo el valor anterior.
+     */
+    Object reload(String cacheName, Object key);
+}
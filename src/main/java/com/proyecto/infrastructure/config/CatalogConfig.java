@@ -0,0 +1,15 @@
+package com.proyecto.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Catalogo local de juegos (ver {@code LocalCatalogGameProvider}). Con
+ * {@code igdb.catalog.enabled=true} se programa su sincronizacion periodica con IGDB.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "igdb.catalog.enabled", havingValue = "true")
+public class CatalogConfig {
+}
@@ -3,8 +3,13 @@ package com.proyecto.infrastructure.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class IgdbApiConfig {
 
@@ -20,9 +25,121 @@ public class IgdbApiConfig {
     @Value("${igdb.client-secret}")
     private String clientSecret;
 
+    @Value("${igdb.auth.refresh-margin-seconds:300}")
+    private long authRefreshMarginSeconds;
+
+    @Value("${igdb.batching.window-ms:5}")
+    private long batchWindowMs;
+
+    @Value("${igdb.batching.max-size:50}")
+    private int batchMaxSize;
+
+    @Value("${igdb.batching.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${igdb.batching.max-parallel-chunks:4}")
+    private int batchMaxParallelChunks;
+
+    @Value("${igdb.filter.block-size:50}")
+    private int filterBlockSize;
+
+    @Value("${igdb.http.connect-timeout-ms:2000}")
+    private long httpConnectTimeoutMs;
+
+    @Value("${igdb.http.read-timeout-ms:10000}")
+    private long httpReadTimeoutMs;
+
+    @Value("${igdb.http.compression:true}")
+    private boolean httpCompression;
+
+    @Value("${igdb.rate-limit.max-wait-ms.auth:5000}")
+    private long rateLimitAuthMaxWaitMs;
+
+    @Value("${igdb.rate-limit.max-wait-ms.interactive:2000}")
+    private long rateLimitInteractiveMaxWaitMs;
+
+    @Value("${igdb.rate-limit.max-wait-ms.background:10000}")
+    private long rateLimitBackgroundMaxWaitMs;
+
+    @Value("${igdb.concurrency.initial-limit:4}")
+    private int concurrencyInitialLimit;
+
+    @Value("${igdb.concurrency.min-limit:1}")
+    private int concurrencyMinLimit;
+
+    @Value("${igdb.concurrency.max-limit:8}")
+    private int concurrencyMaxLimit;
+
+    @Value("${igdb.concurrency.max-wait-ms:1000}")
+    private long concurrencyMaxWaitMs;
+
+    @Value("${igdb.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${igdb.retry.base-delay-ms:100}")
+    private long retryBaseDelayMs;
+
+    @Value("${igdb.retry.max-delay-ms:2000}")
+    private long retryMaxDelayMs;
+
+    @Value("${igdb.retry.budget-percent:10}")
+    private long retryBudgetPercent;
+
+    @Value("${igdb.retry.budget-min-per-second:1}")
+    private long retryBudgetMinPerSecond;
+
+    @Value("${igdb.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${igdb.hedging.percentile:95}")
+    private double hedgingPercentile;
+
+    @Value("${igdb.hedging.min-delay-ms:50}")
+    private long hedgingMinDelayMs;
+
+    @Value("${igdb.hedging.min-samples:20}")
+    private int hedgingMinSamples;
+
+    @Value("${igdb.hedging.budget-percent:5}")
+    private long hedgingBudgetPercent;
+
+    @Value("${igdb.catalog.sync.page-size:500}")
+    private int catalogSyncPageSize;
+
+    @Value("${igdb.catalog.sync.max-pages-per-run:20}")
+    private int catalogSyncMaxPagesPerRun;
+
+    @Value("${igdb.catalog.search.enabled:true}")
+    private boolean catalogSearchEnabled;
+
+    @Value("${igdb.catalog.search.min-hits:5}")
+    private int catalogSearchMinHits;
+
+    @Value("${igdb.catalog.seen-games.max-size:20000}")
+    private long catalogSeenGamesMaxSize;
+
+    @Value("${igdb.catalog.filter.enabled:true}")
+    private boolean catalogFilterEnabled;
+
+    /**
+     * Cliente HTTP de IGDB y Twitch sobre {@link HttpClient} del JDK: negocia HTTP/2 (con
+     * vuelta a HTTP/1.1 si el servidor no lo soporta), reutiliza conexiones keep-alive de su
+     * pool interno para no repetir el handshake TLS en cada llamada y pide las respuestas
+     * comprimidas con gzip, que descomprime de forma transparente.
+     */
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(httpConnectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(httpReadTimeoutMs));
+        requestFactory.enableCompression(httpCompression);
+        return new RestTemplate(requestFactory);
     }
 
     public String getApiBaseUrl() {
@@ -40,4 +157,241 @@ public class IgdbApiConfig {
     public String getClientSecret() {
         return clientSecret;
     }
+
+    /**
+     * Antelacion con la que se renueva en segundo plano el token de Twitch antes de que caduque.
+     */
+    public long getAuthRefreshMarginSeconds() {
+        return authRefreshMarginSeconds;
+    }
+
+    /**
+     * Ventana durante la que se acumulan busquedas individuales por id antes de lanzarlas
+     * a IGDB en una sola consulta. Un valor de 0 desactiva el agrupamiento.
+     */
+    public long getBatchWindowMs() {
+        return batchWindowMs;
+    }
+
+    /**
+     * Numero maximo de ids por lote; al alcanzarse, el lote se envia sin esperar a que
+     * termine la ventana.
+     */
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    /**
+     * Numero maximo de ids por consulta a IGDB cuando se piden varios juegos a la vez. IGDB
+     * no devuelve mas de 500 resultados por consulta, por lo que ese es tambien el tope.
+     */
+    public int getBatchChunkSize() {
+        return batchChunkSize;
+    }
+
+    /**
+     * Numero maximo de consultas de un mismo lote que se lanzan en paralelo. Cada una sigue
+     * consumiendo su propio token del rate limiter.
+     */
+    public int getBatchMaxParallelChunks() {
+        return batchMaxParallelChunks;
+    }
+
+    /**
+     * Tamaño de los bloques alineados en los que se cachean los resultados de filtrado. Las
+     * paginas de cualquier limite y offset se componen a partir de estos bloques.
+     */
+    public int getFilterBlockSize() {
+        return filterBlockSize;
+    }
+
+    /**
+     * Tiempo maximo para establecer la conexion TCP/TLS con IGDB o Twitch.
+     */
+    public long getHttpConnectTimeoutMs() {
+        return httpConnectTimeoutMs;
+    }
+
+    /**
+     * Tiempo maximo de espera de la respuesta de cada llamada una vez enviada la peticion.
+     */
+    public long getHttpReadTimeoutMs() {
+        return httpReadTimeoutMs;
+    }
+
+    /**
+     * Si se solicitan las respuestas comprimidas ({@code Accept-Encoding: gzip}).
+     */
+    public boolean isHttpCompression() {
+        return httpCompression;
+    }
+
+    /**
+     * Espera maxima por un token del rate limiter para obtener el token de Twitch.
+     */
+    public long getRateLimitAuthMaxWaitMs() {
+        return rateLimitAuthMaxWaitMs;
+    }
+
+    /**
+     * Espera maxima por un token del rate limiter de las llamadas hechas durante una peticion
+     * de usuario. Al superarse se sirve lo que haya en cache o se responde 503.
+     */
+    public long getRateLimitInteractiveMaxWaitMs() {
+        return rateLimitInteractiveMaxWaitMs;
+    }
+
+    /**
+     * Espera maxima por un token del rate limiter de las recargas de cache en segundo plano.
+     */
+    public long getRateLimitBackgroundMaxWaitMs() {
+        return rateLimitBackgroundMaxWaitMs;
+    }
+
+    /**
+     * Limite de llamadas simultaneas a IGDB con el que se arranca, antes de ajustarlo segun
+     * la latencia observada.
+     */
+    public int getConcurrencyInitialLimit() {
+        return concurrencyInitialLimit;
+    }
+
+    /**
+     * Limite de llamadas simultaneas por debajo del cual nunca se baja.
+     */
+    public int getConcurrencyMinLimit() {
+        return concurrencyMinLimit;
+    }
+
+    /**
+     * Limite de llamadas simultaneas que nunca se supera. IGDB admite 8 peticiones abiertas
+     * por client-id.
+     */
+    public int getConcurrencyMaxLimit() {
+        return concurrencyMaxLimit;
+    }
+
+    /**
+     * Espera maxima por un hueco libre cuando el limite de concurrencia esta ocupado.
+     */
+    public long getConcurrencyMaxWaitMs() {
+        return concurrencyMaxWaitMs;
+    }
+
+    /**
+     * Numero maximo de intentos de cada consulta a IGDB, el primero incluido.
+     */
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    /**
+     * Espera base entre reintentos; se duplica en cada intento y se aplica con jitter.
+     */
+    public long getRetryBaseDelayMs() {
+        return retryBaseDelayMs;
+    }
+
+    /**
+     * Espera maxima antes de un reintento. Si {@code Retry-After} pide mas, no se reintenta.
+     */
+    public long getRetryMaxDelayMs() {
+        return retryMaxDelayMs;
+    }
+
+    /**
+     * Porcentaje de las consultas que pueden reintentarse cuando IGDB falla de forma
+     * generalizada.
+     */
+    public long getRetryBudgetPercent() {
+        return retryBudgetPercent;
+    }
+
+    /**
+     * Reintentos por segundo permitidos aunque haya poco trafico.
+     */
+    public long getRetryBudgetMinPerSecond() {
+        return retryBudgetMinPerSecond;
+    }
+
+    /**
+     * Si se duplican las consultas interactivas a IGDB que tardan mas de lo habitual.
+     */
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    /**
+     * Percentil de la latencia reciente de IGDB a partir del cual se lanza la consulta
+     * duplicada.
+     */
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    /**
+     * Espera minima antes de duplicar una consulta, aunque IGDB este respondiendo muy rapido.
+     */
+    public long getHedgingMinDelayMs() {
+        return hedgingMinDelayMs;
+    }
+
+    /**
+     * Latencias que hay que haber observado antes de empezar a duplicar consultas.
+     */
+    public int getHedgingMinSamples() {
+        return hedgingMinSamples;
+    }
+
+    /**
+     * Porcentaje maximo de las consultas que pueden duplicarse.
+     */
+    public long getHedgingBudgetPercent() {
+        return hedgingBudgetPercent;
+    }
+
+    /**
+     * Juegos que se piden a IGDB en cada pagina de la sincronizacion del catalogo local.
+     */
+    public int getCatalogSyncPageSize() {
+        return catalogSyncPageSize;
+    }
+
+    /**
+     * Paginas que procesa como mucho cada ejecucion de la sincronizacion del catalogo local.
+     */
+    public int getCatalogSyncMaxPagesPerRun() {
+        return catalogSyncMaxPagesPerRun;
+    }
+
+    /**
+     * Si las busquedas por nombre se responden con el indice local cuando encuentra
+     * suficientes resultados.
+     */
+    public boolean isCatalogSearchEnabled() {
+        return catalogSearchEnabled;
+    }
+
+    /**
+     * Resultados que tiene que encontrar el indice local para no preguntar a IGDB.
+     */
+    public int getCatalogSearchMinHits() {
+        return catalogSearchMinHits;
+    }
+
+    /**
+     * Juegos devueltos por IGDB que aun no estan en el catalogo local y se guardan en memoria
+     * para poder servirlos desde los indices locales.
+     */
+    public long getCatalogSeenGamesMaxSize() {
+        return catalogSeenGamesMaxSize;
+    }
+
+    /**
+     * Si los filtros que entiende el motor local se resuelven sobre el catalogo local en lugar
+     * de en IGDB, una vez el catalogo esta completo.
+     */
+    public boolean isCatalogFilterEnabled() {
+        return catalogFilterEnabled;
+    }
 }
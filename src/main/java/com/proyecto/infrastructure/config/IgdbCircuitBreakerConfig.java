@@ -0,0 +1,58 @@
+package com.proyecto.infrastructure.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker de las llamadas a IGDB.
+ * <p>
+ * Se abre cuando, dentro de la ventana de las ultimas llamadas, el porcentaje de errores o
+ * de llamadas lentas supera su umbral. Mientras esta abierto las llamadas fallan al instante,
+ * sin esperar al rate limiter. Pasado el tiempo de espera deja pasar unas pocas llamadas de
+ * prueba (semiabierto) cuyo resultado decide si vuelve a cerrarse o a abrirse.
+ */
+@Configuration
+public class IgdbCircuitBreakerConfig {
+
+    @Value("${igdb.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${igdb.circuit-breaker.slow-call-duration-ms:3000}")
+    private long slowCallDurationMs;
+
+    @Value("${igdb.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${igdb.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${igdb.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${igdb.circuit-breaker.wait-in-open-seconds:30}")
+    private long waitInOpenSeconds;
+
+    @Value("${igdb.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    @Bean
+    public CircuitBreaker igdbCircuitBreaker() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(Duration.ofSeconds(waitInOpenSeconds))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .build();
+        return CircuitBreaker.of("igdb", config);
+    }
+}
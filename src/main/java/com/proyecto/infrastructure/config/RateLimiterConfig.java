@@ -1,18 +1,71 @@
 package com.proyecto.infrastructure.config;
 
+import com.proyecto.infrastructure.adapter.out.persistence.JdbcRateLimitProxyManager;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
 import java.time.Duration;
 
+/**
+ * Bucket con el cupo de llamadas a IGDB (10 por segundo por client-id).
+ * <p>
+ * Por defecto el bucket vive en memoria, lo que solo es correcto con un unico nodo. Con
+ * {@code igdb.rate-limit.cluster.enabled=true} su estado se guarda en la base de datos de la
+ * aplicacion y todos los nodos que comparten client-id consumen del mismo cupo. Para no
+ * añadir una consulta a la base de datos a cada llamada, cada nodo consume en local hasta
+ * {@code prefetch-tokens} tokens o durante {@code sync-interval-ms} antes de sincronizarse, y
+ * entre sincronizaciones descuenta el ritmo de consumo que observo en el resto de nodos.
+ */
 @Configuration
 public class RateLimiterConfig {
 
+    private static final long CAPACITY = 10;
+    private static final Duration REFILL_PERIOD = Duration.ofSeconds(1);
+
+    @Value("${igdb.client-id}")
+    private String clientId;
+
+    @Value("${igdb.rate-limit.cluster.prefetch-tokens:2}")
+    private long prefetchTokens;
+
+    @Value("${igdb.rate-limit.cluster.sync-interval-ms:200}")
+    private long syncIntervalMs;
+
+    @Value("${igdb.rate-limit.cluster.request-timeout-ms:1000}")
+    private long requestTimeoutMs;
+
     @Bean
+    @ConditionalOnProperty(name = "igdb.rate-limit.cluster.enabled", havingValue = "false", matchIfMissing = true)
     public Bucket rateLimiter() {
         return Bucket.builder()
-                .addLimit(limit -> limit.capacity(10).refillGreedy(10, Duration.ofSeconds(1)))
+                .addLimit(limit -> limit.capacity(CAPACITY).refillGreedy(CAPACITY, REFILL_PERIOD))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "igdb.rate-limit.cluster.enabled", havingValue = "true")
+    public JdbcRateLimitProxyManager rateLimitProxyManager(DataSource dataSource) {
+        return new JdbcRateLimitProxyManager(dataSource,
+                ClientSideConfig.getDefault().withRequestTimeout(Duration.ofMillis(requestTimeoutMs)));
+    }
+
+    @Bean(name = "rateLimiter")
+    @ConditionalOnProperty(name = "igdb.rate-limit.cluster.enabled", havingValue = "true")
+    public Bucket clusterRateLimiter(JdbcRateLimitProxyManager rateLimitProxyManager) {
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(limit -> limit.capacity(CAPACITY).refillGreedy(CAPACITY, REFILL_PERIOD))
                 .build();
+        return rateLimitProxyManager.builder()
+                .withOptimization(Optimizations.predicting(
+                        new DelayParameters(Math.max(1, prefetchTokens), Duration.ofMillis(syncIntervalMs))))
+                .build("igdb:" + clientId, () -> configuration);
     }
 }
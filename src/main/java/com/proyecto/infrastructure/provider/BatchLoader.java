@@ -0,0 +1,123 @@
+package com.proyecto.infrastructure.provider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Agrupa cargas individuales por clave que llegan dentro de una ventana corta de tiempo y
+ * las resuelve con una unica llamada por lotes (patron "DataLoader").
+ * <p>
+ * El primer hilo que abre un lote actua como lider: espera la ventana configurada y despues
+ * lanza la carga con todas las claves acumuladas. Si el lote alcanza {@code maxBatchSize}
+ * antes, el hilo que lo llena lo despacha de inmediato. No se crean hilos propios: cada
+ * llamador espera en su propio hilo, como haria con una llamada directa.
+ *
+ * @param <K> Tipo de la clave.
+ * @param <V> Tipo del valor; las claves ausentes en el resultado del lote se resuelven a {@code null}.
+ */
+class BatchLoader<K, V> {
+
+    private final Function<List<K>, Map<K, V>> batchFunction;
+    private final Duration window;
+    private final int maxBatchSize;
+
+    private Map<K, CompletableFuture<V>> currentBatch;
+
+    BatchLoader(Function<List<K>, Map<K, V>> batchFunction, Duration window, int maxBatchSize) {
+        this.batchFunction = batchFunction;
+        this.window = window;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    V load(K key) {
+        if (window.isZero() || window.isNegative()) {
+            return batchFunction.apply(List.of(key)).get(key);
+        }
+
+        Map<K, CompletableFuture<V>> batch;
+        CompletableFuture<V> future;
+        boolean leader;
+        boolean full;
+        synchronized (this) {
+            leader = currentBatch == null;
+            if (leader) {
+                currentBatch = new LinkedHashMap<>();
+            }
+            batch = currentBatch;
+            future = batch.computeIfAbsent(key, _ -> new CompletableFuture<>());
+            full = batch.size() >= maxBatchSize;
+            if (full) {
+                currentBatch = null;
+            }
+        }
+
+        if (full) {
+            dispatch(batch);
+        } else if (leader) {
+            waitForWindow(future);
+            if (detach(batch)) {
+                dispatch(batch);
+            }
+        }
+        return await(future);
+    }
+
+    /**
+     * Espera a que termine la ventana, o antes si otro hilo llena y despacha el lote.
+     */
+    private void waitForWindow(CompletableFuture<V> future) {
+        try {
+            future.get(window.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException _) {
+            // Ventana agotada, o lote ya resuelto (con error) por otro hilo: detach() decide.
+        } catch (InterruptedException e) {
+            // Despachamos igualmente para no dejar colgados al resto de llamadores del lote.
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cierra el lote si sigue abierto.
+     *
+     * @return {@code false} si otro hilo ya lo cerro al llenarlo (y por tanto ya lo despacho).
+     */
+    private synchronized boolean detach(Map<K, CompletableFuture<V>> batch) {
+        if (currentBatch != batch) {
+            return false;
+        }
+        currentBatch = null;
+        return true;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            Map<K, V> results = batchFunction.apply(new ArrayList<>(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(results.get(key)));
+        } catch (RuntimeException | Error e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
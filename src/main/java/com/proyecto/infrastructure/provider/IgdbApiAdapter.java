@@ -3,54 +3,114 @@ package com.proyecto.infrastructure.provider;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.proyecto.application.port.out.provider.GameProviderInterface;
 import com.proyecto.application.port.out.provider.PlatformProviderInterface;
+import com.proyecto.domain.exception.GameProviderRequestException;
+import com.proyecto.domain.exception.GameProviderUnavailableException;
 import com.proyecto.domain.model.Artwork;
 import com.proyecto.domain.model.Game;
 import com.proyecto.domain.model.Platform;
 import com.proyecto.domain.model.PlatformType;
+import com.proyecto.infrastructure.catalog.CatalogGame;
+import com.proyecto.infrastructure.catalog.CatalogSource;
+import com.proyecto.infrastructure.config.CacheEntryReloader;
 import com.proyecto.infrastructure.config.IgdbApiConfig;
-import io.github.bucket4j.Bucket;
+import com.proyecto.infrastructure.provider.IgdbRateLimiter.Priority;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Component
-public class IgdbApiAdapter implements GameProviderInterface, PlatformProviderInterface {
+public class IgdbApiAdapter implements GameProviderInterface, PlatformProviderInterface, CacheEntryReloader, CatalogSource {
 
     private static final Logger logger = LoggerFactory.getLogger(IgdbApiAdapter.class);
+    private static final String GAME_BY_ID_CACHE = "igdb-game-by-id";
+    private static final String FILTER_COUNT_CACHE = "igdb-games-count-by-filter";
+    private static final String FILTER_BLOCKS_CACHE = "igdb-games-filter-blocks";
+    private static final String GAMES_BY_NAME_CACHE = "igdb-games-by-name";
+    private static final String PLATFORMS_CACHE = "igdb-platforms";
+    private static final String LAST_KNOWN_GOOD_CACHE = "igdb-last-known-good";
     private static final String GAMES_URL = "/games";
-    private static final String GAMES_COUNT_URL = "/games/count";
+    private static final String MULTIQUERY_URL = "/multiquery";
+    private static final String MULTIQUERY_COUNT = "count";
+    private static final String MULTIQUERY_BLOCK_PREFIX = "block-";
+    private static final int MULTIQUERY_MAX_QUERIES = 10;
+    private static final int IGDB_MAX_LIMIT = 500;
+    private static final int DEFAULT_FILTER_BLOCK_SIZE = 50;
     private static final String PLACEHOLDER_IMAGE_URL = "https://placehold.co/600x400";
     private static final String HEADER_CLIENT_ID = "Client-ID";
     private static final String HEADER_AUTHORIZATION = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
-    private static final String FIELDS_GAME_BASE = "fields name, genres.name, first_release_date, cover.image_id, artworks.*, summary, storyline, videos.video_id, screenshots.image_id, platforms.name, rating;";
-    private static final String RATE_LIMITER_INTERRUPTION_MESSAGE = "Thread interrupted while waiting for rate limiter token";
+    private static final String GAME_FIELDS = "name, genres.name, first_release_date, cover.image_id, artworks.*, summary, storyline, videos.video_id, screenshots.image_id, platforms.name, rating";
+    private static final String FIELDS_GAME_BASE = "fields " + GAME_FIELDS + ";";
+    private static final String FIELDS_CATALOG = "fields " + GAME_FIELDS + ", updated_at;";
+    private static final String PLATFORMS_FLIGHT_KEY = "platforms";
 
     private final IgdbApiConfig apiConfig;
     private final RestTemplate restTemplate;
-    private final Bucket rateLimiter;
+    private final IgdbRateLimiter rateLimiter;
+    private final CacheManager cacheManager;
+
+    private final IgdbTokenManager tokenManager;
+    private final CircuitBreaker circuitBreaker;
+    private final IgdbConcurrencyLimiter concurrencyLimiter;
+    private final IgdbRetryPolicy retryPolicy;
+    private final IgdbHedgingPolicy hedgingPolicy;
+
+    // Peticiones en vuelo por clave: cuando varios hilos fallan la cache a la vez para la
+    // misma consulta, solo uno consume token del rate limiter y llama a IGDB.
+    private final SingleFlight<Long, Optional<Game>> gameByIdFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<Game>> gamesByNameFlights = new SingleFlight<>();
+    private final SingleFlight<FilterKey, Page<Game>> gamesByFilterFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<Platform>> platformsFlights = new SingleFlight<>();
+
+    // Agrupa las busquedas individuales por id que llegan casi a la vez en una sola
+    // consulta "where id = (...)", como hace findMultipleByExternalIds. Las recargas de
+    // cache se agrupan aparte para que esperen al rate limiter con prioridad de fondo.
+    private final BatchLoader<Long, Game> gameByIdLoader;
+    private final BatchLoader<Long, Game> backgroundGameByIdLoader;
+
+    private final int chunkSize;
+    private final int maxParallelChunks;
+    private final int filterBlockSize;
+    private final ExecutorService chunkExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Ejecuta las variantes asincronas. Cada llamada corre en su propio hilo virtual, que
+    // libera su hilo de plataforma mientras espera al rate limiter o a la respuesta HTTP, y
+    // se sigue atribuyendo en el rate limiter al llamador que la lanzo.
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    private String accessToken;
-    private long tokenExpirationTime;
-
-    private record AuthResponse(@JsonProperty("access_token") String accessToken, @JsonProperty("expires_in") long expiresIn) {}
     private record IgdbGameResponse(
             long id,
             String name,
@@ -63,9 +123,10 @@ public class IgdbApiAdapter implements GameProviderInterface, PlatformProviderIn
             List<IgdbVideoResponse> videos,
             List<IgdbScreenshotResponse> screenshots,
             List<IgdbPlatformResponse> platforms,
-            Double rating
+            Double rating,
+            @JsonProperty("updated_at") Long updatedAt
     ) {}
-    private record IgdbGenreResponse(String name) {}
+    private record IgdbGenreResponse(Long id, String name) {}
     private record IgdbCoverResponse(@JsonProperty("image_id") String imageId) {}
     private record IgdbVideoResponse(@JsonProperty("video_id") String videoId) {}
     private record IgdbScreenshotResponse(@JsonProperty("image_id") String imageId) {}
@@ -75,149 +136,411 @@ public class IgdbApiAdapter implements GameProviderInterface, PlatformProviderIn
             Integer generation,
             @JsonProperty("platform_type") Integer platformType
     ) {}
-    private record IgdbCountResponse(long count) {}
+    private record IgdbMultiQueryResponse(String name, Long count, List<IgdbGameResponse> result) {}
+    private record FilterKey(String filter, String sort, Integer limit, Integer offset) {}
+    private record FilterBlockKey(String filter, String sort, int block) {}
+    private record LastKnownGoodKey(String cacheName, Object key) {}
 
 
-    public IgdbApiAdapter(IgdbApiConfig apiConfig, RestTemplate restTemplate, Bucket rateLimiter) {
+    public IgdbApiAdapter(IgdbApiConfig apiConfig, RestTemplate restTemplate, IgdbRateLimiter rateLimiter, CacheManager cacheManager,
+                          IgdbTokenManager tokenManager, CircuitBreaker circuitBreaker, IgdbConcurrencyLimiter concurrencyLimiter,
+                          IgdbRetryPolicy retryPolicy, IgdbHedgingPolicy hedgingPolicy) {
         this.apiConfig = apiConfig;
         this.restTemplate = restTemplate;
         this.rateLimiter = rateLimiter;
+        this.cacheManager = cacheManager;
+        this.tokenManager = tokenManager;
+        this.circuitBreaker = circuitBreaker;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.retryPolicy = retryPolicy;
+        this.hedgingPolicy = hedgingPolicy;
+        this.chunkSize = apiConfig.getBatchChunkSize() > 0 ? Math.min(apiConfig.getBatchChunkSize(), IGDB_MAX_LIMIT) : IGDB_MAX_LIMIT;
+        this.maxParallelChunks = Math.max(1, apiConfig.getBatchMaxParallelChunks());
+        this.filterBlockSize = apiConfig.getFilterBlockSize() > 0 ? Math.min(apiConfig.getFilterBlockSize(), IGDB_MAX_LIMIT) : DEFAULT_FILTER_BLOCK_SIZE;
+        this.gameByIdLoader = new BatchLoader<>(ids -> fetchGamesByIdsAsMap(ids, Priority.INTERACTIVE),
+                Duration.ofMillis(apiConfig.getBatchWindowMs()), apiConfig.getBatchMaxSize());
+        this.backgroundGameByIdLoader = new BatchLoader<>(ids -> fetchGamesByIdsAsMap(ids, Priority.BACKGROUND),
+                Duration.ofMillis(apiConfig.getBatchWindowMs()), apiConfig.getBatchMaxSize());
     }
 
     @Override
-    @Cacheable("igdb-game-by-id")
     public Optional<Game> findByExternalId(Long externalId) {
-        if (rateLimiterInterrupted() || !ensureAuthentication()) return Optional.empty();
+        return Optional.ofNullable(cached(GAME_BY_ID_CACHE, externalId,
+                () -> gameByIdFlights.execute(externalId, () -> Optional.ofNullable(gameByIdLoader.load(externalId))).orElse(null)));
+    }
 
-        HttpHeaders headers = createHeaders();
-        String requestBody = String.format("%s where id = %s;", FIELDS_GAME_BASE, externalId);
-        HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+    @Override
+    public CompletableFuture<Optional<Game>> findByExternalIdAsync(Long externalId) {
+        return CompletableFuture.supplyAsync(IgdbCaller.propagate(() -> findByExternalId(externalId)), asyncExecutor);
+    }
 
-        try {
-            ResponseEntity<IgdbGameResponse[]> response = restTemplate.postForEntity(apiConfig.getApiBaseUrl() + GAMES_URL, entity, IgdbGameResponse[].class);
-            IgdbGameResponse[] responseBody = response.getBody();
+    /**
+     * Resuelve cada id contra la cache por juego ({@value #GAME_BY_ID_CACHE}), la misma que usa
+     * {@link #findByExternalId(Long)}, y solo pide a IGDB los que faltan, en una unica consulta.
+     * Los juegos obtenidos se guardan de nuevo por id, de modo que dos lotes que se solapan
+     * comparten entradas. El resultado respeta el orden de la peticion, sin ids repetidos.
+     */
+    @Override
+    public List<Game> findMultipleByExternalIds(List<Long> externalIds) {
+        if (externalIds == null || externalIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Cache cache = cacheManager.getCache(GAME_BY_ID_CACHE);
+        List<Long> requestedIds = externalIds.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Game> gamesById = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+
+        for (Long id : requestedIds) {
+            Cache.ValueWrapper cached = cache != null ? cache.get(id) : null;
+            if (cached == null) {
+                missingIds.add(id);
+            } else if (cached.get() instanceof Game game) {
+                gamesById.put(id, game);
+            }
+        }
 
-            if (response.getStatusCode() == HttpStatus.OK && responseBody != null && responseBody.length > 0) {
-                return Optional.of(mapToDomain(responseBody[0]));
+        if (!missingIds.isEmpty()) {
+            Map<Long, Game> fetched;
+            try {
+                fetched = fetchGamesByIdsAsMap(missingIds, Priority.INTERACTIVE);
+            } catch (GameProviderUnavailableException e) {
+                gamesById.putAll(lastKnownGoodGames(missingIds, e));
+                missingIds = List.of();
+                fetched = Map.of();
+            }
+            gamesById.putAll(fetched);
+            // IGDB respondio, asi que los ids que no aparecen no existen: se cachean como
+            // ausentes (con el TTL corto de las entradas negativas).
+            for (Long id : missingIds) {
+                cachePut(cache, GAME_BY_ID_CACHE, id, fetched.get(id));
             }
-        } catch (Exception e) {
-            logger.error("Error fetching game with id {} from IGDB", externalId, e);
         }
 
-        return Optional.empty();
+        return requestedIds.stream()
+                .map(gamesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Ultimo valor conocido de cada id cuando IGDB no esta disponible. Si falta alguno se
+     * propaga el fallo original: no se puede distinguir un juego inexistente de uno no visto.
+     */
+    private Map<Long, Game> lastKnownGoodGames(List<Long> ids, GameProviderUnavailableException failure) {
+        Map<Long, Game> games = new HashMap<>();
+        for (Long id : ids) {
+            Cache.ValueWrapper stale = lastKnownGood(GAME_BY_ID_CACHE, id);
+            if (stale == null) {
+                throw failure;
+            }
+            if (stale.get() instanceof Game game) {
+                games.put(id, game);
+            }
+        }
+        logger.warn("IGDB unavailable, serving last known good games for ids {}", ids);
+        return games;
     }
 
     @Override
-    @Cacheable("igdb-games-by-ids")
-    public List<Game> findMultipleByExternalIds(List<Long> externalIds) {
-        if (externalIds == null || externalIds.isEmpty()) {
-            return Collections.emptyList();
+    public CompletableFuture<List<Game>> findMultipleByExternalIdsAsync(List<Long> externalIds) {
+        return CompletableFuture.supplyAsync(IgdbCaller.propagate(() -> findMultipleByExternalIds(externalIds)), asyncExecutor);
+    }
+
+    private Map<Long, Game> fetchGamesByIdsAsMap(List<Long> externalIds, Priority priority) {
+        return fetchGamesByIds(externalIds, priority).stream()
+                .collect(Collectors.toMap(Game::id, Function.identity(), (first, _) -> first));
+    }
+
+    /**
+     * Pide los juegos en trozos de como mucho {@link #chunkSize} ids (IGDB no devuelve mas de
+     * {@value #IGDB_MAX_LIMIT} resultados por consulta), lanzando hasta {@link #maxParallelChunks}
+     * consultas a la vez. El resultado concatena los trozos en el orden de {@code externalIds}.
+     */
+    private List<Game> fetchGamesByIds(List<Long> externalIds, Priority priority) {
+        if (externalIds.size() <= chunkSize) {
+            return fetchGamesChunk(externalIds, priority);
         }
 
-        if (rateLimiterInterrupted() || !ensureAuthentication()) return Collections.emptyList();
+        // Autenticamos una sola vez antes de repartir el trabajo para que los trozos no
+        // compitan por renovar el token.
+        currentToken();
 
-        HttpHeaders headers = createHeaders();
-        String ids = externalIds.stream().map(String::valueOf).collect(Collectors.joining(","));
-        String requestBody = String.format("%s where id = (%s); limit %d;", FIELDS_GAME_BASE, ids, externalIds.size());
-        HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+        Semaphore parallelChunks = new Semaphore(maxParallelChunks);
+        List<CompletableFuture<List<Game>>> chunks = new ArrayList<>();
+        for (int from = 0; from < externalIds.size(); from += chunkSize) {
+            List<Long> chunk = externalIds.subList(from, Math.min(from + chunkSize, externalIds.size()));
+            chunks.add(CompletableFuture.supplyAsync(IgdbCaller.propagate(() -> fetchGamesChunk(chunk, priority, parallelChunks)), chunkExecutor));
+        }
 
         try {
-            ResponseEntity<IgdbGameResponse[]> response = restTemplate.postForEntity(apiConfig.getApiBaseUrl() + GAMES_URL, entity, IgdbGameResponse[].class);
-            IgdbGameResponse[] responseBody = response.getBody();
-
-            if (response.getStatusCode() == HttpStatus.OK && responseBody != null) {
-                return Arrays.stream(responseBody)
-                        .map(this::mapToDomain)
-                        .toList();
+            return chunks.stream()
+                    .flatMap(chunk -> chunk.join().stream())
+                    .toList();
+        } catch (CompletionException e) {
+            // Si falla un trozo falla la peticion entera: un resultado parcial se cachearia
+            // como si los ids del trozo fallido no existieran.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-        } catch (Exception e) {
-            logger.error("Error fetching games with ids {} from IGDB", ids, e);
+            throw e;
         }
+    }
 
-        return Collections.emptyList();
+    private List<Game> fetchGamesChunk(List<Long> externalIds, Priority priority, Semaphore parallelChunks) {
+        try {
+            parallelChunks.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GameProviderUnavailableException("Interrupted while waiting to fetch games with ids " + externalIds + " from IGDB", e);
+        }
+        try {
+            return fetchGamesChunk(externalIds, priority);
+        } finally {
+            parallelChunks.release();
+        }
+    }
+
+    private List<Game> fetchGamesChunk(List<Long> externalIds, Priority priority) {
+        String ids = externalIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String requestBody = String.format("%s where id = (%s); limit %d;", FIELDS_GAME_BASE, ids, externalIds.size());
+
+        IgdbGameResponse[] responseBody = postToIgdb(GAMES_URL, requestBody, IgdbGameResponse[].class, priority,
+                "Error fetching games with ids " + ids + " from IGDB");
+        return Arrays.stream(responseBody)
+                .map(this::mapToDomain)
+                .toList();
     }
 
     @Override
-    @Cacheable("igdb-games-by-name")
     public List<Game> searchByName(String name) {
-        if (rateLimiterInterrupted() || !ensureAuthentication()) return Collections.emptyList();
+        return cached(GAMES_BY_NAME_CACHE, name, () -> gamesByNameFlights.execute(name, () -> fetchGamesByName(name, Priority.INTERACTIVE)));
+    }
 
-        HttpHeaders headers = createHeaders();
-        String requestBody = String.format("search \"%s\"; %s limit 50;", name, FIELDS_GAME_BASE);
-        HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+    /**
+     * IGDB no ofrece busqueda aproximada: es la misma busqueda que {@link #searchByName}. La
+     * busqueda aproximada solo existe con el catalogo local ({@code igdb.catalog.enabled=true}).
+     */
+    @Override
+    public List<Game> searchByNameFuzzy(String name) {
+        return searchByName(name);
+    }
 
-        try {
-            ResponseEntity<IgdbGameResponse[]> response = restTemplate.postForEntity(apiConfig.getApiBaseUrl() + GAMES_URL, entity, IgdbGameResponse[].class);
-            IgdbGameResponse[] responseBody = response.getBody();
+    @Override
+    public CompletableFuture<List<Game>> searchByNameAsync(String name) {
+        return CompletableFuture.supplyAsync(IgdbCaller.propagate(() -> searchByName(name)), asyncExecutor);
+    }
 
-            if (response.getStatusCode() == HttpStatus.OK && responseBody != null) {
-                return Arrays.stream(responseBody)
-                        .map(this::mapToDomain)
-                        .toList();
-            }
-        } catch (Exception e) {
-            logger.error("Error searching for games with name '{}' from IGDB", name, e);
-        }
+    private List<Game> fetchGamesByName(String name, Priority priority) {
+        String requestBody = String.format("search \"%s\"; %s limit 50;", name, FIELDS_GAME_BASE);
 
-        return Collections.emptyList();
+        IgdbGameResponse[] responseBody = postToIgdb(GAMES_URL, requestBody, IgdbGameResponse[].class, priority,
+                "Error searching for games with name '" + name + "' from IGDB");
+        return Arrays.stream(responseBody)
+                .map(this::mapToDomain)
+                .toList();
     }
 
+    /**
+     * Sirve la ventana {@code [offset, offset + limit)} a partir de bloques alineados de
+     * {@link #filterBlockSize} juegos por filtro y orden, cacheados en {@value #FILTER_BLOCKS_CACHE}.
+     * Dos clientes con distinto tamaño de pagina comparten asi los mismos bloques; solo los
+     * bloques que faltan se piden a IGDB.
+     * <p>
+     * El total se guarda aparte en {@value #FILTER_COUNT_CACHE}, con clave solo en el filtro
+     * normalizado, y si no esta cacheado viaja en la misma llamada a {@value #MULTIQUERY_URL}
+     * que los bloques. Con el total y todos los bloques en cache no hay llamada a IGDB.
+     */
     @Override
-    @Cacheable("igdb-games-by-filter")
     public Page<Game> filterGames(String filter, String sort, Integer limit, Integer offset) {
-        if (rateLimiterInterrupted() || !ensureAuthentication()) return Page.empty();
+        return gamesByFilterFlights.execute(new FilterKey(filter, sort, limit, offset),
+                () -> fetchFilteredGames(filter, sort, limit, offset));
+    }
 
-        HttpHeaders headers = createHeaders();
+    @Override
+    public CompletableFuture<Page<Game>> filterGamesAsync(String filter, String sort, Integer limit, Integer offset) {
+        return CompletableFuture.supplyAsync(IgdbCaller.propagate(() -> filterGames(filter, sort, limit, offset)), asyncExecutor);
+    }
 
-        long totalElements = fetchTotalCount(filter, headers);
-        if (totalElements == 0) {
+    private Page<Game> fetchFilteredGames(String filter, String sort, Integer limit, Integer offset) {
+        int pageSize = limit != null ? limit : 50;
+        int pageOffset = offset != null ? offset : 0;
+        String normalizedFilter = normalizeClause(filter);
+        String normalizedSort = normalizeClause(sort);
+
+        Cache countCache = cacheManager.getCache(FILTER_COUNT_CACHE);
+        Cache blockCache = cacheManager.getCache(FILTER_BLOCKS_CACHE);
+        Long totalElements = countCache != null ? countCache.get(normalizedFilter, Long.class) : null;
+
+        if (totalElements != null && totalElements == 0) {
             return Page.empty();
         }
 
-        if (rateLimiterInterrupted()) return Page.empty();
+        int firstBlock = pageOffset / filterBlockSize;
+        int lastBlock = (pageOffset + pageSize - 1) / filterBlockSize;
+        if (totalElements != null) {
+            lastBlock = (int) Math.min(lastBlock, (totalElements - 1) / filterBlockSize);
+        }
 
-        List<Game> games = fetchGamesPage(filter, sort, limit, offset, headers);
+        Map<Integer, List<Game>> blocks = new HashMap<>();
+        List<Integer> missingBlocks = new ArrayList<>();
+        for (int block = firstBlock; block <= lastBlock; block++) {
+            List<Game> cached = blockCache != null ? getCachedBlock(blockCache, new FilterBlockKey(normalizedFilter, normalizedSort, block)) : null;
+            if (cached != null) {
+                blocks.put(block, cached);
+            } else {
+                missingBlocks.add(block);
+            }
+        }
 
-        int pageSize = limit != null ? limit : 50;
-        int pageOffset = offset != null ? offset : 0;
-        int pageNumber = pageOffset / pageSize;
+        if (totalElements == null || !missingBlocks.isEmpty()) {
+            try {
+                long fetchedCount = fetchFilterBlocks(normalizedFilter, normalizedSort, missingBlocks, totalElements == null, blocks,
+                        Priority.INTERACTIVE);
+                if (totalElements == null) {
+                    totalElements = fetchedCount;
+                    cachePut(countCache, FILTER_COUNT_CACHE, normalizedFilter, totalElements);
+                }
+                for (int block : missingBlocks) {
+                    cachePut(blockCache, FILTER_BLOCKS_CACHE, new FilterBlockKey(normalizedFilter, normalizedSort, block), blocks.get(block));
+                }
+            } catch (GameProviderUnavailableException e) {
+                totalElements = lastKnownGoodFilterResults(normalizedFilter, normalizedSort, totalElements, missingBlocks, blocks, e);
+            }
+        }
 
-        return new PageImpl<>(games, PageRequest.of(pageNumber, pageSize), totalElements);
+        if (totalElements == 0) {
+            return Page.empty();
+        }
+
+        List<Game> window = new ArrayList<>();
+        for (int block = firstBlock; block <= lastBlock; block++) {
+            window.addAll(blocks.getOrDefault(block, Collections.emptyList()));
+        }
+        int from = Math.min(pageOffset - firstBlock * filterBlockSize, window.size());
+        List<Game> games = List.copyOf(window.subList(from, Math.min(from + pageSize, window.size())));
+
+        return new PageImpl<>(games, PageRequest.of(pageOffset / pageSize, pageSize), totalElements);
     }
 
-    private long fetchTotalCount(String filter, HttpHeaders headers) {
-        String countRequestBody = (filter != null && !filter.isEmpty()) ? "where " + filter + ";" : "";
-        HttpEntity<String> countEntity = new HttpEntity<>(countRequestBody, headers);
+    @SuppressWarnings("unchecked")
+    private List<Game> getCachedBlock(Cache blockCache, FilterBlockKey key) {
+        return blockCache.get(key, List.class);
+    }
 
-        try {
-            ResponseEntity<IgdbCountResponse> countResponse = restTemplate.postForEntity(apiConfig.getApiBaseUrl() + GAMES_COUNT_URL, countEntity, IgdbCountResponse.class);
-            IgdbCountResponse body = countResponse.getBody();
-            if (countResponse.getStatusCode() == HttpStatus.OK && body != null) {
-                return body.count();
+    /**
+     * Completa el total y los bloques que faltan con sus ultimos valores conocidos cuando
+     * IGDB no esta disponible. Si falta alguno se propaga el fallo original.
+     *
+     * @return El total de resultados del filtro.
+     */
+    @SuppressWarnings("unchecked")
+    private long lastKnownGoodFilterResults(String filter, String sort, Long totalElements, List<Integer> missingBlocks,
+                                            Map<Integer, List<Game>> blocks, GameProviderUnavailableException failure) {
+        long count;
+        if (totalElements != null) {
+            count = totalElements;
+        } else if (lastKnownGood(FILTER_COUNT_CACHE, filter) instanceof Cache.ValueWrapper stale && stale.get() instanceof Long staleCount) {
+            count = staleCount;
+        } else {
+            throw failure;
+        }
+
+        for (int block : missingBlocks) {
+            if ((long) block * filterBlockSize >= count) {
+                continue;
+            }
+            if (lastKnownGood(FILTER_BLOCKS_CACHE, new FilterBlockKey(filter, sort, block)) instanceof Cache.ValueWrapper stale
+                    && stale.get() instanceof List<?> staleBlock) {
+                blocks.put(block, (List<Game>) staleBlock);
+            } else {
+                throw failure;
             }
-        } catch (Exception e) {
-            logger.error("Error fetching game count with filter '{}' from IGDB", filter, e);
         }
-        return 0;
+        logger.warn("IGDB unavailable, serving last known good results for filter '{}'", filter);
+        return count;
     }
 
-    private List<Game> fetchGamesPage(String filter, String sort, Integer limit, Integer offset, HttpHeaders headers) {
-        String requestBody = buildFilterQuery(filter, sort, limit, offset);
-        HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+    /**
+     * Pide los bloques que faltan (y el total si {@code includeCount}) en llamadas a
+     * {@value #MULTIQUERY_URL} de como mucho {@value #MULTIQUERY_MAX_QUERIES} consultas cada
+     * una, consumiendo un token del rate limiter por llamada. Los bloques obtenidos se
+     * añaden a {@code blocks}.
+     *
+     * @return El total si se pidio, o 0 si no.
+     * @throws GameProviderUnavailableException Si alguna llamada falla; en ese caso no se
+     *                                          cachea nada de lo obtenido.
+     */
+    private long fetchFilterBlocks(String filter, String sort, List<Integer> missingBlocks, boolean includeCount,
+                                   Map<Integer, List<Game>> blocks, Priority priority) {
+        long totalElements = 0;
+        boolean countPending = includeCount;
+        int nextBlock = 0;
+
+        while (countPending || nextBlock < missingBlocks.size()) {
+            StringBuilder requestBody = new StringBuilder();
+            int queries = 0;
+            if (countPending) {
+                String where = !filter.isEmpty() ? " where " + filter + "; " : " ";
+                requestBody.append("query games/count \"").append(MULTIQUERY_COUNT).append("\" {").append(where).append("};");
+                queries++;
+            }
+            for (; queries < MULTIQUERY_MAX_QUERIES && nextBlock < missingBlocks.size(); queries++, nextBlock++) {
+                int block = missingBlocks.get(nextBlock);
+                requestBody.append(" query games \"").append(MULTIQUERY_BLOCK_PREFIX).append(block).append("\" { ")
+                        .append(buildFilterQuery(filter, sort, filterBlockSize, block * filterBlockSize))
+                        .append(" };");
+            }
 
-        try {
-            ResponseEntity<IgdbGameResponse[]> response = restTemplate.postForEntity(apiConfig.getApiBaseUrl() + GAMES_URL, entity, IgdbGameResponse[].class);
-            IgdbGameResponse[] responseBody = response.getBody();
+            IgdbMultiQueryResponse[] responseBody = postToIgdb(MULTIQUERY_URL, requestBody.toString().strip(), IgdbMultiQueryResponse[].class, priority,
+                    "Error filtering games with filter '" + filter + "' from IGDB");
+            for (IgdbMultiQueryResponse query : responseBody) {
+                if (MULTIQUERY_COUNT.equals(query.name()) && query.count() != null) {
+                    totalElements = query.count();
+                } else if (query.name() != null && query.name().startsWith(MULTIQUERY_BLOCK_PREFIX)) {
+                    int block = Integer.parseInt(query.name().substring(MULTIQUERY_BLOCK_PREFIX.length()));
+                    List<IgdbGameResponse> result = query.result() != null ? query.result() : Collections.emptyList();
+                    blocks.put(block, result.stream().map(this::mapToDomain).toList());
+                }
+            }
+            countPending = false;
+        }
+
+        return totalElements;
+    }
 
-            if (response.getStatusCode() == HttpStatus.OK && responseBody != null) {
-                return Arrays.stream(responseBody)
-                        .map(this::mapToDomain)
-                        .toList();
+    /**
+     * Normaliza un filtro u orden para usarlo como clave de cache: elimina espacios sobrantes
+     * y el ';' final, sin tocar el contenido de los literales entre comillas.
+     */
+    private static String normalizeClause(String clause) {
+        if (clause == null) {
+            return "";
+        }
+
+        StringBuilder normalized = new StringBuilder();
+        boolean inQuotes = false;
+        boolean pendingSpace = false;
+        for (char c : clause.strip().toCharArray()) {
+            if (!inQuotes && Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && !normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            pendingSpace = false;
+            if (c == '"') {
+                inQuotes = !inQuotes;
             }
-        } catch (Exception e) {
-            logger.error("Error filtering games with filter '{}' from IGDB", filter, e);
+            normalized.append(c);
+        }
+
+        int end = normalized.length();
+        while (end > 0 && (normalized.charAt(end - 1) == ';' || normalized.charAt(end - 1) == ' ')) {
+            end--;
         }
-        return Collections.emptyList();
+        return normalized.substring(0, end);
     }
 
     private String buildFilterQuery(String filter, String sort, Integer limit, Integer offset) {
@@ -241,104 +564,267 @@ public class IgdbApiAdapter implements GameProviderInterface, PlatformProviderIn
         return requestBodyBuilder.toString();
     }
 
+    /**
+     * Pagina de la sincronizacion del catalogo local. No pasa por las caches y espera al rate
+     * limiter con prioridad de fondo.
+     */
+    @Override
+    public List<CatalogGame> fetchGamesUpdatedAfter(long updatedAt, int limit) {
+        String requestBody = String.format("%s where updated_at > %d; sort updated_at asc; limit %d;",
+                FIELDS_CATALOG, updatedAt, Math.min(limit, IGDB_MAX_LIMIT));
+        return fetchCatalogGames(requestBody, "Error fetching games updated after " + updatedAt + " from IGDB");
+    }
+
+    @Override
+    public List<CatalogGame> fetchGamesUpdatedAt(long updatedAt, long afterId, int limit) {
+        String requestBody = String.format("%s where updated_at = %d & id > %d; sort id asc; limit %d;",
+                FIELDS_CATALOG, updatedAt, afterId, Math.min(limit, IGDB_MAX_LIMIT));
+        return fetchCatalogGames(requestBody, "Error fetching games updated at " + updatedAt + " from IGDB");
+    }
+
+    private List<CatalogGame> fetchCatalogGames(String requestBody, String errorMessage) {
+        IgdbGameResponse[] responseBody = postToIgdb(GAMES_URL, requestBody, IgdbGameResponse[].class, Priority.BACKGROUND,
+                errorMessage);
+        return Arrays.stream(responseBody)
+                .map(this::mapToCatalogGame)
+                .toList();
+    }
+
     @Override
-    @Cacheable("igdb-platforms")
     public List<Platform> listPlatforms() {
-        if (rateLimiterInterrupted() || !ensureAuthentication()) return Collections.emptyList();
+        return cached(PLATFORMS_CACHE, SimpleKey.EMPTY, () -> platformsFlights.execute(PLATFORMS_FLIGHT_KEY, () -> fetchPlatforms(Priority.INTERACTIVE)));
+    }
 
-        HttpHeaders headers = createHeaders();
+    @Override
+    public CompletableFuture<List<Platform>> listPlatformsAsync() {
+        return CompletableFuture.supplyAsync(IgdbCaller.propagate(this::listPlatforms), asyncExecutor);
+    }
+
+    private List<Platform> fetchPlatforms(Priority priority) {
         String requestBody = "fields name, generation, platform_type; sort name asc; limit 500;";
-        HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
 
-        try {
-            ResponseEntity<IgdbPlatformResponse[]> response = restTemplate.postForEntity(apiConfig.getApiBaseUrl() + "/platforms", entity, IgdbPlatformResponse[].class);
-            IgdbPlatformResponse[] responseBody = response.getBody();
+        IgdbPlatformResponse[] responseBody = postToIgdb("/platforms", requestBody, IgdbPlatformResponse[].class, priority,
+                "Error fetching platforms from IGDB");
+        return Arrays.stream(responseBody)
+                .map(this::mapToDomain)
+                .toList();
+    }
 
-            if (response.getStatusCode() == HttpStatus.OK && responseBody != null) {
-                return Arrays.stream(responseBody)
-                        .map(this::mapToDomain)
-                        .toList();
-            }
-        } catch (Exception e) {
-            logger.error("Error fetching platforms from IGDB", e);
+    /**
+     * Equivalente programatico de {@code @Cacheable}: devuelve el valor cacheado para la clave
+     * o lo carga y lo guarda, incluido {@code null}. Se hace a mano en lugar de con la anotacion
+     * para que las variantes asincronas, que invocan al metodo sincrono desde otro hilo y no a
+     * traves del proxy de Spring, compartan la misma cache.
+     * <p>
+     * Si IGDB no esta disponible (o el circuit breaker esta abierto) y la entrada ya caduco,
+     * se sirve su ultimo valor conocido en lugar de fallar.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String cacheName, Object key, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Cache.ValueWrapper cachedValue = cache != null ? cache.get(key) : null;
+        if (cachedValue != null) {
+            return (T) cachedValue.get();
         }
 
-        return Collections.emptyList();
-    }
-
-    private boolean rateLimiterInterrupted() {
+        T value;
         try {
-            rateLimiter.asBlocking().consume(1);
-            return false; // Not interrupted, token consumed
-        } catch (InterruptedException e) {
-            logger.error(RATE_LIMITER_INTERRUPTION_MESSAGE, e);
-            Thread.currentThread().interrupt();
-            return true; // Interrupted
+            value = loader.get();
+        } catch (GameProviderUnavailableException e) {
+            Cache.ValueWrapper stale = lastKnownGood(cacheName, key);
+            if (stale == null) {
+                throw e;
+            }
+            logger.warn("IGDB unavailable, serving last known good value from {} for key {}", cacheName, key);
+            return (T) stale.get();
         }
+        cachePut(cache, cacheName, key, value);
+        return value;
     }
 
     /**
-     * Garantiza que exista un token de acceso valido antes de llamar a IGDB.
-     *
-     * @return {@code true} si hay un token utilizable tras esta llamada (ya existia o se
-     *         obtuvo uno nuevo), {@code false} si la autenticacion fallo y por tanto no
-     *         debe intentarse ninguna peticion a IGDB (evita enviar "Bearer null").
+     * Guarda el valor en su cache y como ultimo valor conocido, que sobrevive a la caducidad
+     * de la cache y se usa solo cuando IGDB no responde.
      */
-    private boolean ensureAuthentication() {
-        if (isTokenInvalid()) {
-            return authenticate();
+    private void cachePut(Cache cache, String cacheName, Object key, Object value) {
+        if (cache != null) {
+            cache.put(key, value);
+        }
+        Cache lastKnownGood = cacheManager.getCache(LAST_KNOWN_GOOD_CACHE);
+        if (lastKnownGood != null) {
+            lastKnownGood.put(new LastKnownGoodKey(cacheName, key), value);
         }
-        return true;
     }
 
-    private HttpHeaders createHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set(HEADER_CLIENT_ID, apiConfig.getClientId());
-        headers.set(HEADER_AUTHORIZATION, BEARER_PREFIX + accessToken);
-        headers.setContentType(MediaType.TEXT_PLAIN);
-        return headers;
+    private Cache.ValueWrapper lastKnownGood(String cacheName, Object key) {
+        Cache lastKnownGood = cacheManager.getCache(LAST_KNOWN_GOOD_CACHE);
+        return lastKnownGood != null ? lastKnownGood.get(new LastKnownGoodKey(cacheName, key)) : null;
+    }
+
+    /**
+     * Refresca una entrada de cache directamente contra IGDB, sin pasar por la propia cache y
+     * con prioridad de fondo en el rate limiter: cede los tokens a las peticiones de usuario.
+     * Si la llamada falla se propaga la excepcion y la cache sigue sirviendo el valor anterior.
+     */
+    @Override
+    public Object reload(String cacheName, Object key) {
+        Object fresh = switch (cacheName) {
+            case GAME_BY_ID_CACHE -> backgroundGameByIdLoader.load((Long) key);
+            case GAMES_BY_NAME_CACHE -> fetchGamesByName((String) key, Priority.BACKGROUND);
+            case PLATFORMS_CACHE -> fetchPlatforms(Priority.BACKGROUND);
+            case FILTER_COUNT_CACHE -> fetchFilterBlocks((String) key, "", List.of(), true, new HashMap<>(), Priority.BACKGROUND);
+            case FILTER_BLOCKS_CACHE -> reloadFilterBlock((FilterBlockKey) key);
+            default -> throw new IllegalArgumentException("Unknown IGDB cache: " + cacheName);
+        };
+        cachePut(null, cacheName, key, fresh);
+        return fresh;
+    }
+
+    private List<Game> reloadFilterBlock(FilterBlockKey key) {
+        Map<Integer, List<Game>> blocks = new HashMap<>();
+        fetchFilterBlocks(key.filter(), key.sort(), List.of(key.block()), false, blocks, Priority.BACKGROUND);
+        return blocks.getOrDefault(key.block(), Collections.emptyList());
     }
 
     /**
-     * Intenta autenticarse contra Twitch/IGDB.
+     * Envia una consulta a IGDB consumiendo un token del rate limiter con la prioridad dada,
+     * a traves del circuit breaker: con el circuito abierto falla al instante, sin esperar al
+     * rate limiter. Los errores de red, las respuestas 5xx/429 y las llamadas lentas cuentan
+     * para abrirlo; un 4xx (por ejemplo un filtro mal formado) es un error de la peticion y no
+     * de IGDB.
+     * <p>
+     * Si el token no llega dentro de la espera maxima de la prioridad, la llamada falla igual
+     * que si IGDB no respondiera y se sirve lo que haya en cache. Lo mismo ocurre si no queda
+     * hueco en el limite de llamadas simultaneas ({@link IgdbConcurrencyLimiter}), que se toma
+     * despues del token para que el tiempo de espera al rate limiter no cuente como latencia
+     * de IGDB. Los fallos transitorios de IGDB se reintentan segun {@link IgdbRetryPolicy}, y
+     * las consultas interactivas que tardan mas de lo habitual se duplican segun
+     * {@link IgdbHedgingPolicy}.
+     * <p>
+     * Si IGDB rechaza el token (401) se descarta y la consulta se repite una vez con uno
+     * nuevo: el token puede haberse revocado o caducado antes de la renovacion programada.
      *
-     * @return {@code true} si se obtuvo y almaceno un token valido, {@code false} en
-     *         cualquier otro caso (interrupcion del rate limiter o fallo de la llamada).
+     * @return El cuerpo de la respuesta; nunca {@code null}.
+     * @throws GameProviderUnavailableException Si no se pudo hacer la llamada o IGDB no
+     *                                          respondio correctamente. Un fallo nunca se
+     *                                          confunde con un resultado vacio.
+     * @throws GameProviderRequestException     Si IGDB rechazo la consulta (4xx salvo 401 y
+     *                                          429). No se reintenta ni se responde con el
+     *                                          ultimo valor conocido.
      */
-    private boolean authenticate() {
-        if (rateLimiterInterrupted()) return false;
+    private <T> T postToIgdb(String path, String requestBody, Class<T> responseType, Priority priority, String errorMessage) {
+        try {
+            return postWithPolicies(path, requestBody, responseType, priority, errorMessage);
+        } catch (GameProviderUnavailableException e) {
+            if (!isUnauthorized(e.getCause())) {
+                throw e;
+            }
+            logger.warn("IGDB rejected the access token, authenticating again");
+            return postWithPolicies(path, requestBody, responseType, priority, errorMessage);
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+    private <T> T postWithPolicies(String path, String requestBody, Class<T> responseType, Priority priority, String errorMessage) {
+        Supplier<T> attempt = () -> attemptPostToIgdb(path, requestBody, responseType, priority, errorMessage);
+        if (priority != Priority.INTERACTIVE) {
+            return retryPolicy.execute(attempt);
+        }
+        return retryPolicy.execute(() -> hedgingPolicy.execute(path, attempt));
+    }
 
-        MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
-        map.add("client_id", apiConfig.getClientId());
-        map.add("client_secret", apiConfig.getClientSecret());
-        map.add("grant_type", "client_credentials");
+    private static boolean isUnauthorized(Throwable cause) {
+        return cause instanceof HttpClientErrorException clientError && clientError.getStatusCode() == HttpStatus.UNAUTHORIZED;
+    }
 
-        HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(map, headers);
+    /**
+     * Un unico intento de {@link #postToIgdb}: cada reintento vuelve a pasar por el circuit
+     * breaker, el rate limiter y el limite de concurrencia. Si se cancela (la consulta
+     * duplicada respondio antes) no cuenta como fallo de IGDB.
+     */
+    private <T> T attemptPostToIgdb(String path, String requestBody, Class<T> responseType, Priority priority, String errorMessage) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new GameProviderUnavailableException(errorMessage + ": circuit breaker is open");
+        }
 
+        String token;
+        HttpEntity<String> entity;
+        IgdbConcurrencyLimiter.Permit slot;
         try {
-            AuthResponse response = restTemplate.postForObject(apiConfig.getAuthUrl(), entity, AuthResponse.class);
-            if (response != null && response.accessToken() != null) {
-                this.accessToken = response.accessToken();
-                this.tokenExpirationTime = System.currentTimeMillis() + (response.expiresIn() * 1000);
-                logger.info("Successfully authenticated with IGDB/Twitch API.");
-                return true;
+            rateLimiter.acquire(priority);
+            token = currentToken();
+            entity = new HttpEntity<>(requestBody, authorizedHeaders(token));
+            slot = concurrencyLimiter.acquire();
+        } catch (RuntimeException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<T> response;
+            try {
+                response = restTemplate.postForEntity(apiConfig.getApiBaseUrl() + path, entity, responseType);
+            } catch (HttpClientErrorException e) {
+                logger.error(errorMessage, e);
+                if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                    circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                    slot.onDropped();
+                    throw new GameProviderUnavailableException(errorMessage, e);
+                }
+                circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                slot.onSuccess();
+                if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+                    // El fallo es nuestro token y no la consulta: postToIgdb lo repite con otro.
+                    tokenManager.invalidate(token);
+                    throw new GameProviderUnavailableException(errorMessage + ": access token rejected", e);
+                }
+                throw new GameProviderRequestException(errorMessage + ": request rejected by IGDB", e);
+            } catch (RestClientException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    circuitBreaker.releasePermission();
+                    slot.onIgnored();
+                    throw new GameProviderUnavailableException(errorMessage + ": cancelled", e);
+                }
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                slot.onDropped();
+                logger.error(errorMessage, e);
+                throw new GameProviderUnavailableException(errorMessage, e);
+            }
+
+            T responseBody = response.getBody();
+            if (response.getStatusCode() != HttpStatus.OK || responseBody == null) {
+                GameProviderUnavailableException failure = new GameProviderUnavailableException(errorMessage);
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, failure);
+                slot.onDropped();
+                logger.error("{}: unexpected response {}", errorMessage, response.getStatusCode());
+                throw failure;
             }
-        } catch (Exception e) {
-            logger.error("Error during authentication with IGDB/Twitch API", e);
+            circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            slot.onSuccess();
+            return responseBody;
+        } finally {
+            // Por si la llamada termina con una excepcion no prevista: el hueco nunca se pierde.
+            slot.onDropped();
         }
+    }
 
-        // Autenticacion fallida: invalidamos explicitamente cualquier token previo para
-        // que ensureAuthentication() no lo de por bueno en la siguiente llamada.
-        this.accessToken = null;
-        this.tokenExpirationTime = 0;
-        return false;
+    /**
+     * El token vigente para llamar a IGDB.
+     *
+     * @throws GameProviderUnavailableException Si no hay token utilizable; no se intenta
+     *                                          ninguna peticion a IGDB (evita enviar "Bearer null").
+     */
+    private String currentToken() {
+        return tokenManager.currentToken()
+                .orElseThrow(() -> new GameProviderUnavailableException("Could not authenticate with IGDB/Twitch API"));
     }
 
-    private boolean isTokenInvalid() {
-        return accessToken == null || System.currentTimeMillis() >= tokenExpirationTime;
+    private HttpHeaders authorizedHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HEADER_CLIENT_ID, apiConfig.getClientId());
+        headers.set(HEADER_AUTHORIZATION, BEARER_PREFIX + token);
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        return headers;
     }
 
     private Game mapToDomain(IgdbGameResponse igdbGame) {
@@ -381,6 +867,17 @@ public class IgdbApiAdapter implements GameProviderInterface, PlatformProviderIn
         );
     }
 
+    private CatalogGame mapToCatalogGame(IgdbGameResponse igdbGame) {
+        List<Long> genreIds = igdbGame.genres() != null
+                ? igdbGame.genres().stream().map(IgdbGenreResponse::id).filter(Objects::nonNull).toList()
+                : Collections.emptyList();
+        List<Long> platformIds = igdbGame.platforms() != null
+                ? igdbGame.platforms().stream().map(IgdbPlatformResponse::id).toList()
+                : Collections.emptyList();
+        long updatedAt = igdbGame.updatedAt() != null ? igdbGame.updatedAt() : 0;
+        return new CatalogGame(mapToDomain(igdbGame), updatedAt, igdbGame.releaseDate(), genreIds, platformIds);
+    }
+
     private Platform mapToDomain(IgdbPlatformResponse igdbPlatform) {
         return new Platform(
                 igdbPlatform.id(),
@@ -0,0 +1,75 @@
+package com.proyecto.infrastructure.provider;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Supplier;
+
+/**
+ * Identifica a quien se atribuye una llamada a IGDB para repartir el rate limiter de forma
+ * equitativa ({@link IgdbRateLimiter}): el usuario autenticado, o la IP del cliente si la
+ * peticion es anonima. El trabajo que no nace de una peticion (renovacion del token, recargas
+ * de cache) se atribuye a {@value #SYSTEM}.
+ * <p>
+ * Se resuelve a partir del contexto de seguridad y de la peticion del hilo actual. Las tareas
+ * que el adaptador lanza en otros hilos (variantes asincronas, trozos en paralelo) deben
+ * envolverse con {@link #propagate(Supplier)} para conservar al llamador original.
+ */
+final class IgdbCaller {
+
+    static final String SYSTEM = "system";
+
+    private static final ThreadLocal<String> BOUND = new ThreadLocal<>();
+
+    private IgdbCaller() {
+    }
+
+    static String current() {
+        String bound = BOUND.get();
+        if (bound != null) {
+            return bound;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "ip:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return SYSTEM;
+    }
+
+    /**
+     * Ejecuta {@code task} atribuyendo a {@code caller} las llamadas a IGDB que haga.
+     */
+    static <T> T callAs(String caller, Supplier<T> task) {
+        String previous = BOUND.get();
+        BOUND.set(caller);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                BOUND.set(previous);
+            } else {
+                BOUND.remove();
+            }
+        }
+    }
+
+    /**
+     * Captura el llamador del hilo actual para que {@code task} se le atribuya aunque se
+     * ejecute en otro hilo.
+     */
+    static <T> Supplier<T> propagate(Supplier<T> task) {
+        String caller = current();
+        return () -> callAs(caller, task);
+    }
+}
@@ -0,0 +1,208 @@
+package com.proyecto.infrastructure.provider;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limita cuantas llamadas a IGDB hay abiertas a la vez, ajustando el limite segun la latencia
+ * observada (algoritmo de gradiente, en la linea de TCP Vegas).
+ * <p>
+ * Se mantienen dos medias de la latencia: una a largo plazo, que aproxima la latencia de IGDB
+ * sin carga, y otra a corto plazo. Su cociente es el gradiente: cerca de 1 cuando IGDB
+ * responde como siempre, menor cuando las respuestas se alargan porque se estan encolando.
+ * Tras cada respuesta el limite pasa a {@code limite * gradiente + sqrt(limite)}, suavizado:
+ * con IGDB sano crece en la raiz del limite, y cuando la latencia sube se reduce en
+ * proporcion. Un error de IGDB (timeout, 5xx, 429) reduce el limite un 10%. El limite solo
+ * crece si se esta usando al menos la mitad, para que un periodo tranquilo no lo infle.
+ * <p>
+ * Con el limite ocupado, una llamada espera a que se libere un hueco como mucho
+ * {@code igdb.concurrency.max-wait-ms}; despues falla con
+ * {@link GameProviderUnavailableException} y el adaptador sirve lo que tenga en cache.
+ * <p>
+ * Exporta el limite actual ({@code igdb.concurrency.limit}), las llamadas abiertas
+ * ({@code igdb.concurrency.in_flight}) y las rechazadas ({@code igdb.concurrency.rejected}).
+ */
+@Component
+public class IgdbConcurrencyLimiter {
+
+    private static final int DEFAULT_INITIAL_LIMIT = 4;
+    private static final int DEFAULT_MIN_LIMIT = 1;
+    private static final int DEFAULT_MAX_LIMIT = 8;
+    private static final long DEFAULT_MAX_WAIT_MS = 1000;
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxWaitNanos;
+    private final Counter rejections;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    /**
+     * Hueco obtenido para una llamada. Debe liberarse exactamente una vez indicando como
+     * termino; las llamadas posteriores se ignoran.
+     */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** IGDB respondio (aunque sea con un 4xx): la latencia cuenta para ajustar el limite. */
+        public void onSuccess() {
+            release(false, true);
+        }
+
+        /** IGDB fallo o no respondio a tiempo: el limite se reduce. */
+        public void onDropped() {
+            release(true, true);
+        }
+
+        /** La llamada se cancelo antes de terminar: libera el hueco sin ajustar el limite. */
+        public void onIgnored() {
+            release(false, false);
+        }
+
+        private void release(boolean dropped, boolean sample) {
+            if (released) {
+                return;
+            }
+            released = true;
+            IgdbConcurrencyLimiter.this.release(System.nanoTime() - startNanos, inFlightAtStart, dropped, sample);
+        }
+    }
+
+    public IgdbConcurrencyLimiter(IgdbApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.minLimit = apiConfig.getConcurrencyMinLimit() > 0 ? apiConfig.getConcurrencyMinLimit() : DEFAULT_MIN_LIMIT;
+        this.maxLimit = Math.max(minLimit, apiConfig.getConcurrencyMaxLimit() > 0 ? apiConfig.getConcurrencyMaxLimit() : DEFAULT_MAX_LIMIT);
+        int initialLimit = apiConfig.getConcurrencyInitialLimit() > 0 ? apiConfig.getConcurrencyInitialLimit() : DEFAULT_INITIAL_LIMIT;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(
+                apiConfig.getConcurrencyMaxWaitMs() > 0 ? apiConfig.getConcurrencyMaxWaitMs() : DEFAULT_MAX_WAIT_MS);
+
+        Gauge.builder("igdb.concurrency.limit", this, IgdbConcurrencyLimiter::getLimit)
+                .description("Limite actual de llamadas simultaneas a IGDB")
+                .register(meterRegistry);
+        Gauge.builder("igdb.concurrency.in_flight", this, IgdbConcurrencyLimiter::getInFlight)
+                .description("Llamadas a IGDB abiertas")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("igdb.concurrency.rejected")
+                .description("Llamadas a IGDB rechazadas por superar la espera maxima del limite de concurrencia")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Espera un hueco libre, como mucho {@code igdb.concurrency.max-wait-ms}.
+     *
+     * @throws GameProviderUnavailableException Si no se libera ninguno a tiempo o se
+     *                                          interrumpe el hilo.
+     */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            long remainingNanos = maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                if (remainingNanos <= 0) {
+                    rejections.increment();
+                    throw new GameProviderUnavailableException(
+                            "Timed out waiting for a free IGDB concurrency slot (limit " + (int) limit + ")");
+                }
+                remainingNanos = slotReleased.awaitNanos(remainingNanos);
+            }
+            inFlight++;
+            return new Permit(inFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GameProviderUnavailableException("Thread interrupted while waiting for an IGDB concurrency slot", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long rttNanos, int inFlightAtStart, boolean dropped, boolean sample) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (sample) {
+                onSample(rttNanos, inFlightAtStart, dropped);
+            }
+            slotReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ajusta el limite con la latencia de una llamada. Debe llamarse con el cerrojo tomado.
+     *
+     * @param inFlightAtStart Llamadas abiertas cuando empezo esta, ella incluida.
+     */
+    void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+        // Si la latencia ha bajado de forma sostenida, la referencia a largo plazo se
+        // acerca antes para no dejar crecer el limite sin freno.
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.clamp(TOLERANCE * longRttNanos / shortRttNanos, MIN_GRADIENT, 1.0);
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.clamp(limit * (1 - SMOOTHING) + newLimit * SMOOTHING, minLimit, maxLimit);
+    }
+}
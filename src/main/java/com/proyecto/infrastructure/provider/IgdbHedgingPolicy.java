@@ -0,0 +1,218 @@
+package com.proyecto.infrastructure.provider;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Duplica las consultas interactivas a IGDB que tardan mas de lo habitual ("hedged
+ * requests"): si la respuesta no ha llegado cuando se supera el percentil
+ * {@code igdb.hedging.percentile} de la latencia reciente de esa ruta, se lanza la misma
+ * consulta otra vez y se usa la primera respuesta correcta. La otra se cancela.
+ * <p>
+ * Las latencias se guardan por ruta de IGDB en una ventana de las ultimas
+ * {@value #WINDOW_SIZE} respuestas correctas. Hasta reunir {@code min-samples} no se duplica
+ * nada, y la espera nunca baja de {@code min-delay-ms}.
+ * <p>
+ * Cada consulta duplicada consume un token del rate limiter como cualquier otra, asi que se
+ * limitan con un presupuesto: cada consulta añade {@code budget-percent}% de una duplicada y
+ * cada duplicada gasta una entera. Cuando IGDB va lento en general, el percentil sube con el
+ * y se dejan de duplicar consultas; el presupuesto evita que, mientras tanto, se dispare el
+ * consumo del cupo.
+ */
+@Component
+public class IgdbHedgingPolicy {
+
+    static final int WINDOW_SIZE = 256;
+
+    private static final double DEFAULT_PERCENTILE = 95;
+    private static final long DEFAULT_MIN_DELAY_MS = 50;
+    private static final int DEFAULT_MIN_SAMPLES = 20;
+    private static final long DEFAULT_BUDGET_PERCENT = 5;
+    // Como en IgdbRetryPolicy, el presupuesto se lleva en centesimas de consulta duplicada.
+    private static final long HEDGE_COST = 100;
+    private static final long BUDGET_MAX_HEDGES = 5;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final int minSamples;
+    private final long budgetDepositPerCall;
+    private final Bucket budget;
+    private final Counter hedges;
+    private final Counter wins;
+    private final Counter budgetExhausted;
+
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Ultimas latencias correctas de una ruta, en un buffer circular.
+     */
+    private static final class LatencyWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int next;
+        private int size;
+
+        synchronized void add(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % WINDOW_SIZE;
+            size = Math.min(size + 1, WINDOW_SIZE);
+        }
+
+        synchronized long percentile(double percentile, int minSamples) {
+            if (size < minSamples) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * size) - 1;
+            return sorted[Math.clamp(index, 0, size - 1)];
+        }
+    }
+
+    public IgdbHedgingPolicy(IgdbApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.enabled = apiConfig.isHedgingEnabled();
+        this.percentile = apiConfig.getHedgingPercentile() > 0 && apiConfig.getHedgingPercentile() < 100
+                ? apiConfig.getHedgingPercentile()
+                : DEFAULT_PERCENTILE;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(
+                apiConfig.getHedgingMinDelayMs() > 0 ? apiConfig.getHedgingMinDelayMs() : DEFAULT_MIN_DELAY_MS);
+        this.minSamples = apiConfig.getHedgingMinSamples() > 0 ? apiConfig.getHedgingMinSamples() : DEFAULT_MIN_SAMPLES;
+        this.budgetDepositPerCall = apiConfig.getHedgingBudgetPercent() > 0 ? apiConfig.getHedgingBudgetPercent() : DEFAULT_BUDGET_PERCENT;
+        // La reposicion por tiempo es minima: el presupuesto sale casi entero de las consultas.
+        this.budget = Bucket.builder()
+                .addLimit(limit -> limit
+                        .capacity(BUDGET_MAX_HEDGES * HEDGE_COST)
+                        .refillGreedy(HEDGE_COST, Duration.ofMinutes(1)))
+                .build();
+
+        this.hedges = Counter.builder("igdb.hedging.hedges")
+                .description("Consultas a IGDB duplicadas por tardar mas que el percentil configurado")
+                .register(meterRegistry);
+        this.wins = Counter.builder("igdb.hedging.wins")
+                .description("Consultas duplicadas a IGDB que respondieron antes que la original")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("igdb.hedging.budget_exhausted")
+                .description("Consultas a IGDB no duplicadas por agotar el presupuesto")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta {@code call} y, si tarda mas que el percentil de {@code path}, lo lanza otra vez
+     * en paralelo.
+     *
+     * @param path Ruta de IGDB; las latencias de cada ruta se miden por separado.
+     * @throws GameProviderUnavailableException El fallo de la ultima consulta en terminar, si
+     *                                          ninguna responde correctamente.
+     */
+    public <T> T execute(String path, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        LatencyWindow window = latencies.computeIfAbsent(path, _ -> new LatencyWindow());
+        budget.addTokens(budgetDepositPerCall);
+
+        long delayNanos = hedgeDelayNanos(path);
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> started = new ArrayList<>(2);
+        Supplier<T> timedCall = IgdbCaller.propagate(() -> {
+            long start = System.nanoTime();
+            T result = call.get();
+            window.add(System.nanoTime() - start);
+            return result;
+        });
+        started.add(completion.submit(timedCall::get));
+
+        try {
+            Future<T> first = delayNanos < 0
+                    ? completion.take()
+                    : completion.poll(delayNanos, TimeUnit.NANOSECONDS);
+            if (first == null) {
+                if (budget.tryConsume(HEDGE_COST)) {
+                    hedges.increment();
+                    started.add(completion.submit(timedCall::get));
+                } else {
+                    budgetExhausted.increment();
+                }
+                first = completion.take();
+            }
+
+            try {
+                T result = resultOf(first);
+                if (first != started.getFirst()) {
+                    wins.increment();
+                }
+                return result;
+            } catch (GameProviderUnavailableException e) {
+                if (started.size() == 1) {
+                    throw e;
+                }
+                // La otra consulta aun puede responder bien.
+                Future<T> second = completion.take();
+                T result = resultOf(second);
+                if (second != started.getFirst()) {
+                    wins.increment();
+                }
+                return result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GameProviderUnavailableException("Thread interrupted while waiting for IGDB", e);
+        } finally {
+            started.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Latencia que hay que superar en {@code path} para duplicar una consulta, o -1 si aun no
+     * hay suficientes muestras.
+     */
+    long hedgeDelayNanos(String path) {
+        LatencyWindow window = latencies.get(path);
+        long threshold = window == null ? -1 : window.percentile(percentile, minSamples);
+        return threshold < 0 ? -1 : Math.max(threshold, minDelayNanos);
+    }
+
+    void recordLatency(String path, long nanos) {
+        latencies.computeIfAbsent(path, _ -> new LatencyWindow()).add(nanos);
+    }
+
+    private static <T> T resultOf(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new GameProviderUnavailableException("Unexpected error calling IGDB", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,300 @@
+package com.proyecto.infrastructure.provider;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reparte los tokens del {@link Bucket} de IGDB entre las llamadas que esperan, por orden de
+ * prioridad.
+ * <p>
+ * Si no hay nadie esperando y queda un token, se concede al instante. Si no, la peticion se
+ * encola en la cola de su prioridad y un unico hilo despachador entrega cada token que se
+ * repone a la cola mas prioritaria que tenga peticiones.
+ * <p>
+ * Dentro de cada prioridad el reparto es equitativo entre llamadores ({@link IgdbCaller}:
+ * usuario autenticado o IP del cliente). Es un deficit round-robin en el que toda llamada
+ * cuesta lo mismo, un token, y por tanto se reduce a turnos: cada llamador con peticiones
+ * pendientes recibe un token por vuelta, atendiendo sus peticiones en orden de llegada. Un
+ * cliente que lanza cientos de filtros no puede quedarse con mas de su parte del cupo
+ * mientras otros esperan; si es el unico que espera, se lleva todo lo disponible.
+ * <p>
+ * Ningun hilo queda bloqueado
+ * dentro del bucket: la espera es un {@link CompletableFuture}, de modo que las variantes
+ * asincronas no retienen hilo alguno. Cada prioridad tiene una espera maxima; al agotarla la
+ * peticion falla con {@link GameProviderUnavailableException} y el adaptador sirve lo que
+ * tenga en cache.
+ * <p>
+ * Exporta por prioridad el tamaño de cada cola ({@code igdb.rate_limiter.queue}), cuantos
+ * llamadores distintos esperan en ella ({@code igdb.rate_limiter.callers}), el tiempo de
+ * espera ({@code igdb.rate_limiter.wait}) y las peticiones rechazadas por superar la espera
+ * maxima ({@code igdb.rate_limiter.rejected}).
+ */
+@Component
+public class IgdbRateLimiter {
+
+    /**
+     * Clases de prioridad, de mayor a menor.
+     */
+    public enum Priority {
+        /** Obtencion del token de Twitch: sin ella no sale ninguna otra llamada. */
+        AUTH,
+        /** Llamadas en el camino de una peticion de usuario. */
+        INTERACTIVE,
+        /** Recargas de cache y demas trabajo en segundo plano. */
+        BACKGROUND
+    }
+
+    private static final long DEFAULT_MAX_WAIT_MS = 5000;
+    private static final long MIN_DISPATCH_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Bucket bucket;
+    private final Map<Priority, Duration> maxWait = new EnumMap<>(Priority.class);
+    private final Map<Priority, FairQueue> queues = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicInteger> queueSizes = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicInteger> queuedCallers = new EnumMap<>(Priority.class);
+    private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> rejections = new EnumMap<>(Priority.class);
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("igdb-rate-limiter").daemon().factory());
+
+    private boolean dispatchScheduled;
+
+    private record Waiter(Priority priority, String caller, long enqueuedAtNanos, CompletableFuture<Void> permit) {}
+
+    /**
+     * Cola de una prioridad: una cola FIFO por llamador y el orden de turnos entre los
+     * llamadores que tienen peticiones pendientes.
+     */
+    private static final class FairQueue {
+        private final Map<String, Deque<Waiter>> byCaller = new HashMap<>();
+        private final Deque<String> turns = new ArrayDeque<>();
+        private int size;
+
+        void add(Waiter waiter) {
+            byCaller.computeIfAbsent(waiter.caller(), caller -> {
+                turns.addLast(caller);
+                return new ArrayDeque<>();
+            }).addLast(waiter);
+            size++;
+        }
+
+        /**
+         * Saca la siguiente peticion del llamador al que le toca y lo pasa al final de la
+         * vuelta si le quedan mas.
+         */
+        Waiter poll() {
+            String caller = turns.pollFirst();
+            if (caller == null) {
+                return null;
+            }
+            Deque<Waiter> pending = byCaller.get(caller);
+            Waiter waiter = pending.pollFirst();
+            size--;
+            if (pending.isEmpty()) {
+                byCaller.remove(caller);
+            } else {
+                turns.addLast(caller);
+            }
+            return waiter;
+        }
+
+        boolean remove(Waiter waiter) {
+            Deque<Waiter> pending = byCaller.get(waiter.caller());
+            if (pending == null || !pending.remove(waiter)) {
+                return false;
+            }
+            size--;
+            if (pending.isEmpty()) {
+                byCaller.remove(waiter.caller());
+                turns.remove(waiter.caller());
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            return turns.isEmpty();
+        }
+
+        int size() {
+            return size;
+        }
+
+        int callers() {
+            return turns.size();
+        }
+    }
+
+    public IgdbRateLimiter(Bucket rateLimiter, IgdbApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.bucket = rateLimiter;
+        maxWait.put(Priority.AUTH, maxWait(apiConfig.getRateLimitAuthMaxWaitMs()));
+        maxWait.put(Priority.INTERACTIVE, maxWait(apiConfig.getRateLimitInteractiveMaxWaitMs()));
+        maxWait.put(Priority.BACKGROUND, maxWait(apiConfig.getRateLimitBackgroundMaxWaitMs()));
+
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase();
+            queues.put(priority, new FairQueue());
+            queueSizes.put(priority, new AtomicInteger());
+            queuedCallers.put(priority, new AtomicInteger());
+            Gauge.builder("igdb.rate_limiter.queue", queueSizes.get(priority), AtomicInteger::get)
+                    .description("Llamadas a IGDB esperando token del rate limiter")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            Gauge.builder("igdb.rate_limiter.callers", queuedCallers.get(priority), AtomicInteger::get)
+                    .description("Llamadores distintos con llamadas a IGDB esperando token del rate limiter")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            waitTimers.put(priority, Timer.builder("igdb.rate_limiter.wait")
+                    .description("Tiempo de espera hasta obtener token del rate limiter de IGDB")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+            rejections.put(priority, Counter.builder("igdb.rate_limiter.rejected")
+                    .description("Llamadas a IGDB rechazadas por superar la espera maxima del rate limiter")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static Duration maxWait(long configuredMs) {
+        return Duration.ofMillis(configuredMs > 0 ? configuredMs : DEFAULT_MAX_WAIT_MS);
+    }
+
+    /**
+     * Espera, como mucho la espera maxima de su prioridad, a obtener un token para el
+     * llamador actual.
+     *
+     * @throws GameProviderUnavailableException Si se agota la espera o se interrumpe el hilo.
+     */
+    public void acquire(Priority priority) {
+        Waiter waiter = request(priority);
+        CompletableFuture<Void> permit = waiter.permit();
+        try {
+            permit.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof GameProviderUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw new GameProviderUnavailableException("Error waiting for IGDB rate limiter token", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(waiter, "Thread interrupted while waiting for rate limiter token");
+            // Puede que el token se concediera justo antes de la interrupcion; en ese caso
+            // se usa igualmente, como hacia la espera bloqueante del bucket.
+            if (!permit.isCompletedExceptionally()) {
+                return;
+            }
+            throw new GameProviderUnavailableException("Thread interrupted while waiting for rate limiter token", e);
+        }
+    }
+
+    /**
+     * Solicita un token para el llamador actual sin bloquear el hilo que llama.
+     *
+     * @return Un futuro que se completa al concederse el token, o que falla con
+     *         {@link GameProviderUnavailableException} si antes se agota la espera maxima.
+     */
+    public CompletableFuture<Void> acquireAsync(Priority priority) {
+        return request(priority).permit();
+    }
+
+    private Waiter request(Priority priority) {
+        Waiter waiter = new Waiter(priority, IgdbCaller.current(), System.nanoTime(), new CompletableFuture<>());
+        synchronized (this) {
+            if (noneWaiting() && bucket.tryConsume(1)) {
+                waitTimers.get(priority).record(0, TimeUnit.NANOSECONDS);
+                waiter.permit().complete(null);
+                return waiter;
+            }
+            queues.get(priority).add(waiter);
+            updateQueueMetrics(priority);
+            scheduleDispatch(0);
+        }
+        dispatcher.schedule(() -> reject(waiter, "Timed out waiting " + maxWait.get(priority).toMillis()
+                        + " ms for IGDB rate limiter token (" + priority + ")"),
+                maxWait.get(priority).toNanos(), TimeUnit.NANOSECONDS);
+        return waiter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Concede los tokens disponibles por orden de prioridad y, si queda alguien esperando,
+     * se reprograma para cuando el bucket reponga el siguiente token.
+     */
+    private synchronized void dispatch() {
+        dispatchScheduled = false;
+        FairQueue queue;
+        while ((queue = nextQueue()) != null) {
+            if (!bucket.tryConsume(1)) {
+                scheduleDispatch(bucket.estimateAbilityToConsume(1).getNanosToWaitForRefill());
+                return;
+            }
+            Waiter next = queue.poll();
+            updateQueueMetrics(next.priority());
+            waitTimers.get(next.priority()).record(System.nanoTime() - next.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            next.permit().complete(null);
+        }
+    }
+
+    /**
+     * Retira de su cola una peticion que sigue esperando y la hace fallar. Se ejecuta bajo el
+     * mismo cerrojo que {@link #dispatch()}, asi que nunca se consume un token para una
+     * peticion que ya ha fallado.
+     */
+    private synchronized void reject(Waiter waiter, String reason) {
+        if (queues.get(waiter.priority()).remove(waiter)) {
+            updateQueueMetrics(waiter.priority());
+            rejections.get(waiter.priority()).increment();
+            waiter.permit().completeExceptionally(new GameProviderUnavailableException(reason));
+        }
+    }
+
+    private FairQueue nextQueue() {
+        for (Priority priority : Priority.values()) {
+            FairQueue queue = queues.get(priority);
+            if (!queue.isEmpty()) {
+                return queue;
+            }
+        }
+        return null;
+    }
+
+    private void updateQueueMetrics(Priority priority) {
+        FairQueue queue = queues.get(priority);
+        queueSizes.get(priority).set(queue.size());
+        queuedCallers.get(priority).set(queue.callers());
+    }
+
+    private boolean noneWaiting() {
+        return queues.values().stream().allMatch(FairQueue::isEmpty);
+    }
+
+    private void scheduleDispatch(long delayNanos) {
+        if (!dispatchScheduled) {
+            dispatchScheduled = true;
+            dispatcher.schedule(this::dispatch, Math.max(delayNanos, MIN_DISPATCH_DELAY_NANOS), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.proyecto.infrastructure.provider;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reintenta las consultas a IGDB (todas son lecturas, y por tanto idempotentes) que fallan
+ * por un problema transitorio: un 429, un 5xx o un error de red.
+ * <p>
+ * Si la respuesta trae {@code Retry-After} se espera lo que indica; si no, un tiempo
+ * aleatorio entre 0 y {@code base-delay-ms * 2^intento} ("full jitter"), para que los
+ * reintentos de distintos hilos y nodos no lleguen a la vez. Si la espera supera
+ * {@code max-delay-ms} no se reintenta: el usuario no deberia esperar mas, y el fallo se
+ * degrada a la cache.
+ * <p>
+ * Los reintentos estan limitados por un presupuesto global: cada consulta añade
+ * {@code budget-percent}% de un reintento y cada reintento gasta uno entero, con un minimo de
+ * {@code budget-min-per-second} reintentos por segundo. Durante una caida, cuando casi todo
+ * falla, se reintenta como mucho ese porcentaje de las consultas en lugar de multiplicarlas.
+ * <p>
+ * Los fallos que no son de IGDB (circuito abierto, espera agotada en el rate limiter o en el
+ * limite de concurrencia, sin token de Twitch) no se reintentan.
+ */
+@Component
+public class IgdbRetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(IgdbRetryPolicy.class);
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_BASE_DELAY_MS = 100;
+    private static final long DEFAULT_MAX_DELAY_MS = 2000;
+    private static final long DEFAULT_BUDGET_PERCENT = 10;
+    private static final long DEFAULT_BUDGET_MIN_PER_SECOND = 1;
+    // El presupuesto se lleva en centesimas de reintento para poder sumar porcentajes.
+    private static final long RETRY_COST = 100;
+    private static final long BUDGET_MAX_RETRIES = 10;
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final long budgetDepositPerCall;
+    private final Bucket budget;
+    private final Counter retries;
+    private final Counter budgetExhausted;
+
+    public IgdbRetryPolicy(IgdbApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.maxAttempts = apiConfig.getRetryMaxAttempts() > 0 ? apiConfig.getRetryMaxAttempts() : DEFAULT_MAX_ATTEMPTS;
+        this.baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(
+                apiConfig.getRetryBaseDelayMs() > 0 ? apiConfig.getRetryBaseDelayMs() : DEFAULT_BASE_DELAY_MS);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(
+                apiConfig.getRetryMaxDelayMs() > 0 ? apiConfig.getRetryMaxDelayMs() : DEFAULT_MAX_DELAY_MS);
+        this.budgetDepositPerCall = apiConfig.getRetryBudgetPercent() >= 0 ? apiConfig.getRetryBudgetPercent() : DEFAULT_BUDGET_PERCENT;
+        long minRetriesPerSecond = apiConfig.getRetryBudgetMinPerSecond() > 0
+                ? apiConfig.getRetryBudgetMinPerSecond()
+                : DEFAULT_BUDGET_MIN_PER_SECOND;
+        this.budget = Bucket.builder()
+                .addLimit(limit -> limit
+                        .capacity(BUDGET_MAX_RETRIES * RETRY_COST)
+                        .refillGreedy(minRetriesPerSecond * RETRY_COST, Duration.ofSeconds(1)))
+                .build();
+
+        this.retries = Counter.builder("igdb.retry.attempts")
+                .description("Reintentos de llamadas a IGDB")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("igdb.retry.budget_exhausted")
+                .description("Reintentos a IGDB descartados por agotar el presupuesto de reintentos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta {@code call} y lo repite mientras falle de forma transitoria, queden intentos y
+     * el presupuesto lo permita.
+     *
+     * @throws GameProviderUnavailableException El fallo del ultimo intento.
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (budgetDepositPerCall > 0) {
+            budget.addTokens(budgetDepositPerCall);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (GameProviderUnavailableException e) {
+                if (attempt >= maxAttempts || !isTransient(e.getCause())) {
+                    throw e;
+                }
+                long delayNanos = retryAfterNanos(e.getCause());
+                if (delayNanos < 0) {
+                    long backoffNanos = baseDelayNanos << (attempt - 1);
+                    delayNanos = ThreadLocalRandom.current().nextLong(backoffNanos + 1);
+                }
+                if (delayNanos > maxDelayNanos) {
+                    logger.warn("Not retrying IGDB call: Retry-After of {} ms exceeds the maximum delay", TimeUnit.NANOSECONDS.toMillis(delayNanos));
+                    throw e;
+                }
+                if (!budget.tryConsume(RETRY_COST)) {
+                    budgetExhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                sleep(delayNanos, e);
+            }
+        }
+    }
+
+    private static boolean isTransient(Throwable cause) {
+        if (cause instanceof HttpStatusCodeException statusException) {
+            return statusException.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS
+                    || statusException.getStatusCode().is5xxServerError();
+        }
+        return cause instanceof ResourceAccessException;
+    }
+
+    /**
+     * Espera indicada por la cabecera {@code Retry-After} (segundos o fecha HTTP).
+     *
+     * @return La espera, o -1 si no hay cabecera o no se puede interpretar.
+     */
+    private static long retryAfterNanos(Throwable cause) {
+        if (!(cause instanceof HttpStatusCodeException statusException) || statusException.getResponseHeaders() == null) {
+            return -1;
+        }
+        String retryAfter = statusException.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter.strip())));
+        } catch (NumberFormatException _) {
+            // No son segundos: se prueba como fecha HTTP.
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(retryAfter.strip(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toNanos());
+        } catch (DateTimeParseException _) {
+            return -1;
+        }
+    }
+
+    private static void sleep(long delayNanos, GameProviderUnavailableException failure) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.addSuppressed(e);
+            throw failure;
+        }
+    }
+}
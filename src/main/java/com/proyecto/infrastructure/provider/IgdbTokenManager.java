@@ -0,0 +1,199 @@
+package com.proyecto.infrastructure.provider;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gestiona el token de acceso de Twitch/IGDB compartido por todos los hilos.
+ * <p>
+ * El token vigente se publica en un campo {@code volatile} inmutable, de modo que cualquier
+ * hilo ve siempre un par token/caducidad coherente. Como mucho hay una renovacion en vuelo:
+ * los hilos que encuentran el token caducado a la vez esperan a esa misma renovacion. Tras
+ * cada renovacion se programa otra en segundo plano antes de que el token caduque, para que
+ * las peticiones no paguen la latencia de autenticarse en cada cambio de token.
+ */
+@Component
+public class IgdbTokenManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(IgdbTokenManager.class);
+    private static final String REFRESH_KEY = "token";
+    private static final long DEFAULT_REFRESH_MARGIN_SECONDS = 300;
+    private static final long RETRY_AFTER_FAILED_REFRESH_SECONDS = 30;
+
+    private final IgdbApiConfig apiConfig;
+    private final RestTemplate restTemplate;
+    private final IgdbRateLimiter rateLimiter;
+    private final long refreshMarginSeconds;
+    private final SingleFlight<String, Optional<AccessToken>> refreshFlight = new SingleFlight<>();
+    private final ScheduledExecutorService refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("igdb-token-refresh").daemon().factory());
+
+    private volatile AccessToken current;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    private record AuthResponse(@JsonProperty("access_token") String accessToken, @JsonProperty("expires_in") long expiresIn) {}
+    private record AccessToken(String value, long expiresAtMillis) {
+        boolean isValid() {
+            return System.currentTimeMillis() < expiresAtMillis;
+        }
+    }
+
+    public IgdbTokenManager(IgdbApiConfig apiConfig, RestTemplate restTemplate, IgdbRateLimiter rateLimiter) {
+        this.apiConfig = apiConfig;
+        this.restTemplate = restTemplate;
+        this.rateLimiter = rateLimiter;
+        this.refreshMarginSeconds = apiConfig.getAuthRefreshMarginSeconds() > 0
+                ? apiConfig.getAuthRefreshMarginSeconds()
+                : DEFAULT_REFRESH_MARGIN_SECONDS;
+    }
+
+    /**
+     * Devuelve un token utilizable, renovandolo primero si no hay ninguno o ha caducado.
+     *
+     * @return El token, o vacio si la autenticacion fallo y por tanto no debe intentarse
+     *         ninguna peticion a IGDB (evita enviar "Bearer null").
+     */
+    public Optional<String> currentToken() {
+        AccessToken token = current;
+        if (token != null && token.isValid()) {
+            return Optional.of(token.value());
+        }
+        return refreshFlight.execute(REFRESH_KEY, this::refreshIfStillInvalid).map(AccessToken::value);
+    }
+
+    /**
+     * Descarta el token si sigue siendo el vigente, para que la siguiente llamada a
+     * {@link #currentToken()} se autentique de nuevo. Si otro hilo ya lo ha renovado no se
+     * toca el nuevo.
+     *
+     * @param rejected El token que IGDB ha rechazado.
+     */
+    public void invalidate(String rejected) {
+        AccessToken token = current;
+        if (token != null && token.value().equals(rejected)) {
+            logger.warn("Discarding the IGDB/Twitch access token rejected by IGDB.");
+            current = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshScheduler.shutdownNow();
+    }
+
+    private Optional<AccessToken> refreshIfStillInvalid() {
+        // Otro hilo puede haber renovado el token justo antes de que este entrara aqui.
+        AccessToken token = current;
+        if (token != null && token.isValid()) {
+            return Optional.of(token);
+        }
+        return authenticate(true);
+    }
+
+    private void refreshAhead() {
+        refreshFlight.execute(REFRESH_KEY, () -> authenticate(false));
+    }
+
+    /**
+     * Intenta autenticarse contra Twitch/IGDB y publica el nuevo token.
+     *
+     * @param invalidateOnFailure Si la renovacion falla, descarta el token actual. Las
+     *                            renovaciones anticipadas no lo hacen: el token vigente sigue
+     *                            siendo valido hasta su caducidad y se reintenta mas tarde.
+     * @return El nuevo token, o vacio si la autenticacion fallo.
+     */
+    private Optional<AccessToken> authenticate(boolean invalidateOnFailure) {
+        if (!rateLimiterTokenAcquired()) return Optional.empty();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
+        map.add("client_id", apiConfig.getClientId());
+        map.add("client_secret", apiConfig.getClientSecret());
+        map.add("grant_type", "client_credentials");
+
+        HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(map, headers);
+
+        try {
+            AuthResponse response = restTemplate.postForObject(apiConfig.getAuthUrl(), entity, AuthResponse.class);
+            if (response != null && response.accessToken() != null) {
+                AccessToken token = new AccessToken(response.accessToken(), System.currentTimeMillis() + (response.expiresIn() * 1000));
+                current = token;
+                scheduleRefreshAhead(response.expiresIn());
+                logger.info("Successfully authenticated with IGDB/Twitch API.");
+                return Optional.of(token);
+            }
+        } catch (Exception e) {
+            logger.error("Error during authentication with IGDB/Twitch API", e);
+        }
+
+        if (invalidateOnFailure) {
+            // Autenticacion fallida: invalidamos explicitamente cualquier token previo para
+            // que currentToken() no lo de por bueno en la siguiente llamada.
+            current = null;
+        } else {
+            scheduleRetry();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Programa la siguiente renovacion {@code refreshMarginSeconds} antes de la caducidad, o al
+     * 90% de la vida del token si esta es mas corta que el margen. Un token que ya nace
+     * caducado no se programa: se renovara en la siguiente peticion.
+     */
+    private void scheduleRefreshAhead(long expiresInSeconds) {
+        long refreshInSeconds = expiresInSeconds > refreshMarginSeconds
+                ? expiresInSeconds - refreshMarginSeconds
+                : expiresInSeconds * 9 / 10;
+        if (refreshInSeconds > 0) {
+            schedule(refreshInSeconds);
+        }
+    }
+
+    private void scheduleRetry() {
+        AccessToken token = current;
+        long secondsLeft = token != null ? (token.expiresAtMillis() - System.currentTimeMillis()) / 1000 : 0;
+        if (secondsLeft > RETRY_AFTER_FAILED_REFRESH_SECONDS) {
+            schedule(RETRY_AFTER_FAILED_REFRESH_SECONDS);
+        }
+    }
+
+    /**
+     * Sustituye la renovacion pendiente, si la hay, para que nunca haya mas de una programada.
+     */
+    private synchronized void schedule(long delaySeconds) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        scheduledRefresh = refreshScheduler.schedule(this::refreshAhead, delaySeconds, TimeUnit.SECONDS);
+    }
+
+    private boolean rateLimiterTokenAcquired() {
+        try {
+            rateLimiter.acquire(IgdbRateLimiter.Priority.AUTH);
+            return true;
+        } catch (GameProviderUnavailableException e) {
+            logger.error("Could not get a rate limiter token to authenticate with IGDB/Twitch API", e);
+            return false;
+        }
+    }
+}
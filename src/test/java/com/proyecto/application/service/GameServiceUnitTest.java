@@ -1,7 +1,9 @@
 package com.proyecto.application.service;
 
 import com.proyecto.application.port.out.provider.GameProviderInterface;
+import com.proyecto.application.port.out.provider.GameSuggestionProviderInterface;
 import com.proyecto.domain.model.Game;
+import com.proyecto.domain.model.GameSuggestion;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -15,6 +17,7 @@ import org.springframework.data.domain.PageImpl;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -29,6 +32,9 @@ class GameServiceUnitTest {
     @Mock
     private GameProviderInterface gameProviderInterface;
 
+    @Mock
+    private GameSuggestionProviderInterface gameSuggestionProviderInterface;
+
     @InjectMocks
     private GameServiceService gameService;
 
@@ -53,6 +59,20 @@ class GameServiceUnitTest {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("provideSearchQueriesAndExpectedGames")
+    void searchGamesByNameFuzzy_ShouldReturnListOfGames(String query, List<Game> expectedGames) {
+        // Arrange
+        when(gameProviderInterface.searchByNameFuzzy(query)).thenReturn(expectedGames);
+
+        // Act
+        List<Game> result = gameService.searchGamesByNameFuzzy(query);
+
+        // Assert
+        assertEquals(expectedGames, result);
+        verify(gameProviderInterface).searchByNameFuzzy(query);
+    }
+
     @ParameterizedTest
     @MethodSource("provideGameIdAndExpectedGame")
     void getGameById_ShouldReturnGameOrEmpty(Long gameId, Game expectedGame) {
@@ -121,4 +141,56 @@ class GameServiceUnitTest {
                 Arguments.of("platforms = (6)", null, null, null, Page.empty())
         );
     }
+
+    @ParameterizedTest
+    @MethodSource("provideGameIdAndExpectedGame")
+    void getGameByIdAsync_ShouldCompleteWithGameOrEmpty(Long gameId, Game expectedGame) {
+        // Arrange
+        when(gameProviderInterface.findByExternalIdAsync(gameId))
+                .thenReturn(CompletableFuture.completedFuture(Optional.ofNullable(expectedGame)));
+
+        // Act
+        Optional<Game> result = gameService.getGameByIdAsync(gameId).join();
+
+        // Assert
+        assertEquals(Optional.ofNullable(expectedGame), result);
+        verify(gameProviderInterface).findByExternalIdAsync(gameId);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideFilterSortAndExpectedGames")
+    void filterGamesAsync_ShouldCompleteWithPageOfGames(String filter, String sort, Integer limit, Integer offset, Page<Game> expectedGames) {
+        // Arrange
+        when(gameProviderInterface.filterGamesAsync(filter, sort, limit, offset))
+                .thenReturn(CompletableFuture.completedFuture(expectedGames));
+
+        // Act
+        Page<Game> result = gameService.filterGamesAsync(filter, sort, limit, offset).join();
+
+        // Assert
+        assertEquals(expectedGames, result);
+        verify(gameProviderInterface).filterGamesAsync(filter, sort, limit, offset);
+    }
+
+    @ParameterizedTest
+    @MethodSource("providePrefixLimitAndExpectedLimit")
+    void suggestGames_ShouldUseDefaultLimitWhenMissing(String prefix, Integer limit, int expectedLimit) {
+        // Arrange
+        List<GameSuggestion> expectedSuggestions = List.of(new GameSuggestion(1L, "The Legend of Zelda"));
+        when(gameSuggestionProviderInterface.suggestByPrefix(prefix, expectedLimit)).thenReturn(expectedSuggestions);
+
+        // Act
+        List<GameSuggestion> result = gameService.suggestGames(prefix, limit);
+
+        // Assert
+        assertEquals(expectedSuggestions, result);
+        verify(gameSuggestionProviderInterface).suggestByPrefix(prefix, expectedLimit);
+    }
+
+    private static Stream<Arguments> providePrefixLimitAndExpectedLimit() {
+        return Stream.of(
+                Arguments.of("zel", 5, 5),
+                Arguments.of("zel", null, 10)
+        );
+    }
 }
@@ -0,0 +1,54 @@
+package com.proyecto.infrastructure.adapter.in.web.controller;
+
+import com.proyecto.infrastructure.catalog.GameAutocompleteIndex;
+import com.proyecto.infrastructure.catalog.IndexedGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driverClassName=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=password",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "igdb.catalog.enabled=true",
+    "igdb.catalog.sync.initial-delay-ms=600000"
+})
+class GameAutocompleteIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private GameAutocompleteIndex autocompleteIndex;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void shouldSuggestIndexedGame() throws Exception {
+        autocompleteIndex.addAll(List.of(new IndexedGame(1942, "The Legend of Zelda", 90.0)));
+
+        mockMvc.perform(get("/games/autocomplete").param("prefix", "zel"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].id").value(1942))
+               .andExpect(jsonPath("$[0].name").value("The Legend of Zelda"));
+    }
+}
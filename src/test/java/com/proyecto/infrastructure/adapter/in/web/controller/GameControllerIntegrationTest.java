@@ -54,6 +54,20 @@ class GameControllerIntegrationTest {
                .andExpect(status().isOk());
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"z", "Zelda", "final fan"})
+    void shouldReturn503WhenAutocompletingGamesWithoutCatalog(String prefix) throws Exception {
+        mockMvc.perform(get("/games/autocomplete").param("prefix", prefix))
+               .andExpect(status().isServiceUnavailable());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "11"})
+    void shouldReturn400WhenAutocompleteLimitIsOutOfRange(String limit) throws Exception {
+        mockMvc.perform(get("/games/autocomplete").param("prefix", "zel").param("limit", limit))
+               .andExpect(status().isBadRequest());
+    }
+
     @ParameterizedTest
     @ValueSource(longs = {99999999L, 99999998L})
     void shouldReturn404WhenGameDoesNotExist(long id) throws Exception {
@@ -0,0 +1,65 @@
+package com.proyecto.infrastructure.adapter.out.persistence;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRateLimitProxyManagerUnitTest {
+
+    private static final BucketConfiguration TEN_PER_MINUTE = BucketConfiguration.builder()
+            .addLimit(limit -> limit.capacity(10).refillIntervally(10, Duration.ofMinutes(1)))
+            .build();
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE rate_limit_buckets (id VARCHAR(255) PRIMARY KEY, state VARBINARY(1024))");
+        }
+    }
+
+    private Bucket node() {
+        return new JdbcRateLimitProxyManager(dataSource, ClientSideConfig.getDefault())
+                .builder()
+                .build("igdb:test", () -> TEN_PER_MINUTE);
+    }
+
+    /**
+     * Dos nodos con su propio ProxyManager sobre la misma tabla consumen de un unico cupo.
+     */
+    @Test
+    void nodes_shouldDrawFromOneSharedBudget() {
+        Bucket first = node();
+        Bucket second = node();
+
+        assertTrue(first.tryConsume(6));
+        assertEquals(4, second.getAvailableTokens());
+        assertTrue(second.tryConsume(4));
+        assertFalse(first.tryConsume(1));
+    }
+
+    @Test
+    void removeProxy_shouldResetTheBucket() {
+        JdbcRateLimitProxyManager proxyManager = new JdbcRateLimitProxyManager(dataSource, ClientSideConfig.getDefault());
+        Bucket bucket = proxyManager.builder().build("igdb:test", () -> TEN_PER_MINUTE);
+        assertTrue(bucket.tryConsume(10));
+
+        proxyManager.removeProxy("igdb:test");
+
+        assertTrue(proxyManager.getProxyConfiguration("igdb:test").isEmpty());
+        assertEquals(10, node().getAvailableTokens());
+    }
+}
@@ -0,0 +1,85 @@
+package com.proyecto.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.domain.model.Game;
+import com.proyecto.infrastructure.adapter.out.persistence.entity.CatalogGameEntity;
+import com.proyecto.infrastructure.adapter.out.persistence.entity.CatalogSyncStateEntity;
+import com.proyecto.infrastructure.adapter.out.persistence.repository.SpringDataCatalogGameRepository;
+import com.proyecto.infrastructure.adapter.out.persistence.repository.SpringDataCatalogSyncStateRepository;
+import com.proyecto.infrastructure.catalog.CatalogCheckpoint;
+import com.proyecto.infrastructure.catalog.CatalogGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JpaGameCatalogAdapterUnitTest {
+
+    @Mock
+    private SpringDataCatalogGameRepository gameRepository;
+
+    @Mock
+    private SpringDataCatalogSyncStateRepository syncStateRepository;
+
+    private JpaGameCatalogAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new JpaGameCatalogAdapter(gameRepository, syncStateRepository, new ObjectMapper());
+    }
+
+    private static CatalogGame game(long id, String name, List<Long> platformIds) {
+        Game game = new Game(id, name, null, null, null, null, null, List.of(), List.of(), List.of(), List.of(), List.of());
+        return new CatalogGame(game, 10, null, List.of(), platformIds);
+    }
+
+    /**
+     * Los juegos que ya estan se buscan todos en una sola consulta; los demas se marcan como
+     * nuevos para insertarlos sin consultarlos uno a uno.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveBatch_shouldLookUpExistingGamesOnceAndInsertTheRest() {
+        CatalogGameEntity stored = new CatalogGameEntity();
+        stored.setId(1L);
+        when(gameRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(stored));
+
+        adapter.saveBatch(List.of(game(1, "Zelda", List.of()), game(2, "Tetris", List.of())), new CatalogCheckpoint(10, null));
+
+        ArgumentCaptor<List<CatalogGameEntity>> entities = ArgumentCaptor.forClass(List.class);
+        verify(gameRepository).saveAll(entities.capture());
+        assertEquals(List.of(false, true), entities.getValue().stream().map(CatalogGameEntity::isNew).toList());
+        verify(gameRepository, times(1)).findAllById(any());
+    }
+
+    /**
+     * Un juego que no cabe en la tabla haria fallar todo el lote, y el lote se volveria a pedir
+     * en cada sincronizacion: se omite y el resto del lote y el punto de sincronizacion se
+     * guardan.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveBatch_shouldSkipGamesThatDoNotFitTheTable() {
+        CatalogGame fits = game(1, "Zelda", List.of(6L));
+        CatalogGame longName = game(2, "z".repeat(CatalogGameEntity.NAME_LENGTH + 1), List.of());
+        CatalogGame longIdList = game(3, "Tetris", LongStream.range(1_000, 2_000).boxed().toList());
+
+        List<CatalogGame> saved = adapter.saveBatch(List.of(fits, longName, longIdList), new CatalogCheckpoint(10, null));
+
+        assertEquals(List.of(fits), saved);
+        ArgumentCaptor<List<CatalogGameEntity>> entities = ArgumentCaptor.forClass(List.class);
+        verify(gameRepository).saveAll(entities.capture());
+        assertEquals(List.of(1L), entities.getValue().stream().map(CatalogGameEntity::getId).toList());
+        verify(syncStateRepository).save(any(CatalogSyncStateEntity.class));
+    }
+}
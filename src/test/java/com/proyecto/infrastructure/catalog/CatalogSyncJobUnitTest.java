@@ -0,0 +1,202 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.domain.model.Game;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSyncJobUnitTest {
+
+    @Mock
+    private CatalogSource source;
+
+    @Mock
+    private IgdbApiConfig apiConfig;
+
+    private InMemoryCatalogStore store;
+    private GameSearchIndex searchIndex;
+    private CatalogStatus status;
+
+    /**
+     * Almacen en memoria que guarda los lotes igual que el real: juegos y punto de
+     * sincronizacion a la vez, omitiendo los que no puede guardar.
+     */
+    private static final class InMemoryCatalogStore implements GameCatalogStore {
+        // Juego que el almacen no puede guardar, como uno cuyo nombre no cabe en la tabla.
+        private static final long UNSTORABLE_ID = 666;
+
+        private final Map<Long, CatalogGame> games = new TreeMap<>();
+        private final List<CatalogCheckpoint> checkpoints = new ArrayList<>();
+        private CatalogCheckpoint checkpoint = CatalogCheckpoint.START;
+
+        @Override
+        public Optional<Game> findById(Long id) {
+            return Optional.ofNullable(games.get(id)).map(CatalogGame::game);
+        }
+
+        @Override
+        public Map<Long, Game> findAllById(Collection<Long> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void forEachIndexedGame(Consumer<List<IndexedGame>> batchConsumer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CatalogCheckpoint checkpoint() {
+            return checkpoint;
+        }
+
+        @Override
+        public List<CatalogGame> saveBatch(List<CatalogGame> batch, CatalogCheckpoint next) {
+            List<CatalogGame> saved = batch.stream().filter(game -> game.id() != UNSTORABLE_ID).toList();
+            saved.forEach(game -> games.put(game.id(), game));
+            checkpoint = next;
+            checkpoints.add(next);
+            return saved;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(apiConfig.getCatalogSyncPageSize()).thenReturn(2);
+        when(apiConfig.getCatalogSyncMaxPagesPerRun()).thenReturn(10);
+        store = new InMemoryCatalogStore();
+        searchIndex = new GameSearchIndex();
+        status = new CatalogStatus();
+        status.markIndexesLoaded();
+    }
+
+    private CatalogSyncJob job() {
+        return new CatalogSyncJob(source, store, List.of(searchIndex), status, apiConfig);
+    }
+
+    private static CatalogGame game(long id, long updatedAt) {
+        Game game = new Game(id, "Game " + id, null, null, null, null, null, List.of(), List.of(), List.of(), List.of(), List.of());
+        return new CatalogGame(game, updatedAt, null, List.of(), List.of());
+    }
+
+    @Test
+    void syncOnce_shouldPageByUpdatedAtUntilCaughtUp() {
+        when(source.fetchGamesUpdatedAfter(0, 2)).thenReturn(List.of(game(1, 10), game(2, 20)));
+        when(source.fetchGamesUpdatedAt(20, 0, 2)).thenReturn(List.of());
+        when(source.fetchGamesUpdatedAfter(20, 2)).thenReturn(List.of(game(3, 30)));
+
+        assertEquals(3, job().syncOnce());
+
+        assertEquals(List.of(1L, 2L, 3L), List.copyOf(store.games.keySet()));
+        assertEquals(new CatalogCheckpoint(30, null), store.checkpoint());
+        assertEquals(List.of(3L), searchIndex.search("game 3", 10));
+        assertTrue(status.isComplete());
+    }
+
+    /**
+     * Con la pagina llena puede haber mas juegos con el ultimo updated_at: se recorren por id
+     * antes de pedir los posteriores, para no saltarse ninguno.
+     */
+    @Test
+    void syncOnce_shouldDrainGamesSharingTheLastUpdatedAtById() {
+        when(source.fetchGamesUpdatedAfter(0, 2)).thenReturn(List.of(game(7, 50), game(3, 50)));
+        when(source.fetchGamesUpdatedAt(50, 0, 2)).thenReturn(List.of(game(3, 50), game(5, 50)));
+        when(source.fetchGamesUpdatedAt(50, 5, 2)).thenReturn(List.of(game(7, 50)));
+        when(source.fetchGamesUpdatedAfter(50, 2)).thenReturn(List.of());
+
+        job().syncOnce();
+
+        assertEquals(List.of(3L, 5L, 7L), List.copyOf(store.games.keySet()));
+        assertEquals(List.of(
+                new CatalogCheckpoint(50, 0L),
+                new CatalogCheckpoint(50, 5L),
+                new CatalogCheckpoint(50, null)), store.checkpoints);
+    }
+
+    @Test
+    void syncOnce_shouldResumeFromTheSavedCheckpoint() {
+        store.checkpoint = new CatalogCheckpoint(100, null);
+        when(source.fetchGamesUpdatedAfter(100, 2)).thenReturn(List.of(game(9, 120)));
+
+        job().syncOnce();
+
+        verify(source, never()).fetchGamesUpdatedAfter(eq(0L), anyInt());
+        assertEquals(new CatalogCheckpoint(120, null), store.checkpoint());
+    }
+
+    @Test
+    void syncOnce_shouldStopAfterMaxPagesPerRun() {
+        when(apiConfig.getCatalogSyncMaxPagesPerRun()).thenReturn(3);
+        when(source.fetchGamesUpdatedAfter(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return LongStream.rangeClosed(after + 1, after + 2).mapToObj(i -> game(i, i)).toList();
+        });
+        when(source.fetchGamesUpdatedAt(anyLong(), anyLong(), anyInt())).thenReturn(List.of());
+
+        job().syncOnce();
+
+        verify(source, times(2)).fetchGamesUpdatedAfter(anyLong(), anyInt());
+        assertEquals(3, store.checkpoints.size());
+        assertFalse(status.isComplete());
+    }
+
+    /**
+     * Una pagina configurada mayor que la que devuelve IGDB se recorta: si no, cada pagina
+     * llena pareceria la ultima.
+     */
+    @Test
+    void syncOnce_shouldNotAskForMoreThanTheSourceReturnsPerPage() {
+        when(apiConfig.getCatalogSyncPageSize()).thenReturn(1_000);
+        when(apiConfig.getCatalogSyncMaxPagesPerRun()).thenReturn(1);
+        List<CatalogGame> fullPage = LongStream.rangeClosed(1, CatalogSource.MAX_PAGE_SIZE).mapToObj(i -> game(i, 10)).toList();
+        when(source.fetchGamesUpdatedAfter(0, CatalogSource.MAX_PAGE_SIZE)).thenReturn(fullPage);
+
+        job().syncOnce();
+
+        assertEquals(new CatalogCheckpoint(10, 0L), store.checkpoint());
+        assertFalse(status.isComplete());
+    }
+
+    @Test
+    void syncOnce_shouldMoveOnWhenTheStoreSkipsAGame() {
+        when(source.fetchGamesUpdatedAfter(0, 2)).thenReturn(List.of(game(1, 10), game(666, 20)));
+        when(source.fetchGamesUpdatedAt(20, 0, 2)).thenReturn(List.of());
+        when(source.fetchGamesUpdatedAfter(20, 2)).thenReturn(List.of());
+
+        assertEquals(1, job().syncOnce());
+
+        assertEquals(List.of(1L), List.copyOf(store.games.keySet()));
+        assertEquals(new CatalogCheckpoint(20, null), store.checkpoint());
+        assertEquals(List.of(), searchIndex.search("game 666", 10));
+        assertTrue(status.isComplete());
+    }
+
+    @Test
+    void sync_shouldKeepSavedPagesWhenIgdbFails() {
+        when(source.fetchGamesUpdatedAfter(0, 2)).thenReturn(List.of(game(1, 10), game(2, 20)));
+        when(source.fetchGamesUpdatedAt(20, 0, 2)).thenThrow(new GameProviderUnavailableException("down"));
+
+        assertDoesNotThrow(() -> job().sync());
+
+        assertEquals(2, store.games.size());
+        assertEquals(new CatalogCheckpoint(20, 0L), store.checkpoint());
+    }
+}
@@ -0,0 +1,131 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.domain.model.GameSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameAutocompleteIndexUnitTest {
+
+    private GameAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GameAutocompleteIndex();
+        index.addAll(List.of(
+                new IndexedGame(1, "The Legend of Zelda", 80.0),
+                new IndexedGame(2, "The Legend of Zelda: Breath of the Wild", 97.0),
+                new IndexedGame(3, "Zelda II: The Adventure of Link", 70.0),
+                new IndexedGame(4, "Pokémon Red", 85.0),
+                new IndexedGame(5, "Legend of Mana", null)));
+    }
+
+    @Test
+    void suggestByPrefix_shouldMatchTheStartOfAnyWordByRating() {
+        assertEquals(List.of(2L, 1L, 3L), idsOf(index.suggestByPrefix("zel", 10)));
+        assertEquals(List.of(2L, 1L, 5L), idsOf(index.suggestByPrefix("legend o", 10)));
+        assertEquals(List.of(new GameSuggestion(4L, "Pokémon Red")), index.suggestByPrefix("POKÉ", 10));
+    }
+
+    @Test
+    void suggestByPrefix_shouldRequireTheWholeWordWhenThePrefixEndsInASeparator() {
+        assertEquals(List.of(2L, 1L), idsOf(index.suggestByPrefix("legend of z", 10)));
+        assertEquals(List.of(), idsOf(index.suggestByPrefix("zeld ", 10)));
+        assertEquals(List.of(3L), idsOf(index.suggestByPrefix("zelda ii: ", 10)));
+    }
+
+    @Test
+    void suggestByPrefix_shouldReturnNothingForUnknownOrBlankPrefixes() {
+        assertEquals(List.of(), index.suggestByPrefix("mario", 10));
+        assertEquals(List.of(), index.suggestByPrefix("  ", 10));
+        assertEquals(List.of(), index.suggestByPrefix("zel", 0));
+    }
+
+    @Test
+    void suggestByPrefix_shouldHonorTheLimit() {
+        assertEquals(List.of(2L), idsOf(index.suggestByPrefix("the", 1)));
+    }
+
+    @Test
+    void addAll_shouldReindexGamesWhoseNameOrRatingChanged() {
+        index.addAll(List.of(
+                new IndexedGame(4, "Pokémon Blue", 85.0),
+                new IndexedGame(3, "Zelda II: The Adventure of Link", 99.0)));
+
+        assertEquals(List.of(4L), idsOf(index.suggestByPrefix("blu", 10)));
+        assertEquals(List.of(), idsOf(index.suggestByPrefix("red", 10)));
+        assertEquals(List.of(3L, 2L, 1L), idsOf(index.suggestByPrefix("zel", 10)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void addAll_shouldIgnoreOlderVersions() {
+        index.addAll(List.of(new IndexedGame(4, "Pokémon Blue", 85.0, null, List.of(), List.of(), 20L)));
+        index.addAll(List.of(new IndexedGame(4, "Pokémon Red", 85.0, null, List.of(), List.of(), 10L)));
+        index.addAll(List.of(new IndexedGame(4, "Pokémon Green", 85.0)));
+
+        assertEquals(List.of(new GameSuggestion(4L, "Pokémon Blue")), index.suggestByPrefix("poke", 10));
+    }
+
+    @Test
+    void removeUnversioned_shouldOnlyDropGamesKnownFromIgdbResponsesAndReuseTheirSlots() {
+        index.addAll(List.of(new IndexedGame(6, "Zelda Classic", 60.0, null, List.of(), List.of(), 10L)));
+
+        index.removeUnversioned(List.of(2L, 6L));
+
+        assertEquals(List.of(1L, 3L, 6L), idsOf(index.suggestByPrefix("zel", 10)));
+        assertEquals(List.of(), idsOf(index.suggestByPrefix("breath", 10)));
+
+        index.addAll(List.of(new IndexedGame(7, "Breath of Fire", 75.0)));
+
+        assertEquals(List.of(7L), idsOf(index.suggestByPrefix("breath", 10)));
+        assertEquals(6, index.size());
+    }
+
+    /**
+     * Las listas de cada nodo se recalculan de forma incremental; tras muchas altas y cambios
+     * deben coincidir con ordenar todos los juegos que empiezan por el prefijo.
+     */
+    @Test
+    void suggestByPrefix_shouldMatchAFullScanAfterManyUpdates() {
+        Random random = new Random(42);
+        String[] words = {"star", "stars", "start", "war", "wars", "dark", "darkest", "souls", "space", "quest"};
+        List<IndexedGame> latest = new ArrayList<>(IntStream.range(0, 500).mapToObj(_ -> (IndexedGame) null).toList());
+        index = new GameAutocompleteIndex();
+        for (int round = 0; round < 3_000; round++) {
+            int id = random.nextInt(latest.size());
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            IndexedGame game = new IndexedGame(id, name, (double) random.nextInt(100));
+            latest.set(id, game);
+            index.addAll(List.of(game));
+        }
+
+        Comparator<IndexedGame> best = Comparator.comparing(IndexedGame::rating, Comparator.reverseOrder())
+                .thenComparingInt(game -> game.name().length())
+                .thenComparingLong(IndexedGame::id);
+        for (String prefix : List.of("s", "sta", "start", "wars s", "dark", "q")) {
+            List<Long> expected = latest.stream()
+                    .filter(game -> game != null && startsAnyWord(game.name(), prefix))
+                    .sorted(best)
+                    .limit(GameAutocompleteIndex.MAX_SUGGESTIONS)
+                    .map(IndexedGame::id)
+                    .toList();
+            assertEquals(expected, idsOf(index.suggestByPrefix(prefix, 10)), prefix);
+        }
+    }
+
+    private static boolean startsAnyWord(String name, String prefix) {
+        return name.startsWith(prefix) || name.substring(name.indexOf(' ') + 1).startsWith(prefix);
+    }
+
+    private static List<Long> idsOf(List<GameSuggestion> suggestions) {
+        return suggestions.stream().map(GameSuggestion::id).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.proyecto.infrastructure.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameFilterIndexUnitTest {
+
+    private GameFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GameFilterIndex();
+        index.addAll(List.of(
+                new IndexedGame(1, "Zelda", 90.0, 500L, List.of(12L, 31L), List.of(6L), 10L),
+                new IndexedGame(2, "Metroid", 85.0, 300L, List.of(31L), List.of(6L, 48L), 10L),
+                new IndexedGame(3, "Unrated", null, 100L, List.of(12L), List.of(), 10L),
+                new IndexedGame(4, "Undated", 70.0, null, List.of(), List.of(48L), 10L),
+                new IndexedGame(5, "From IGDB", 99.0)));
+    }
+
+    private GameFilterIndex.Result run(String filter, String sort, int limit, int offset) {
+        return index.execute(GameFilterParser.parse(filter, sort).orElseThrow(), limit, offset);
+    }
+
+    @Test
+    void execute_shouldCountAndPageInTheRequestedOrder() {
+        GameFilterIndex.Result result = run("", "rating desc", 2, 1);
+
+        assertEquals(List.of(2L, 4L), result.ids());
+        assertEquals(4, result.total());
+        assertEquals(List.of(3L), run("", "rating desc", 2, 3).ids());
+    }
+
+    @Test
+    void execute_shouldMatchAnyOrAllListedIds() {
+        assertEquals(List.of(1L, 2L, 3L), run("genres = (12, 31)", null, 10, 0).ids());
+        assertEquals(List.of(1L), run("genres = [12, 31]", null, 10, 0).ids());
+        assertEquals(List.of(2L, 4L), run("platforms = 48", null, 10, 0).ids());
+    }
+
+    @Test
+    void execute_shouldCombineConditionsAndSkipMissingValues() {
+        assertEquals(List.of(2L, 1L, 4L), run("((rating >= 90 | platforms = 48) & genres != null) | first_release_date = null",
+                "first_release_date asc", 10, 0).ids());
+        assertEquals(List.of(3L), run("rating = null", null, 10, 0).ids());
+        assertEquals(List.of(4L), run("genres = null", null, 10, 0).ids());
+    }
+
+    @Test
+    void execute_shouldReturnOnlyTheTotalPastTheLastPage() {
+        GameFilterIndex.Result result = run("rating > 80", null, 10, 5);
+
+        assertEquals(List.of(), result.ids());
+        assertEquals(2, result.total());
+    }
+
+    @Test
+    void addAll_shouldUpdateGamesInPlaceAndIgnoreGamesWithoutFilterData() {
+        index.addAll(List.of(new IndexedGame(2, "Metroid", 60.0, 300L, List.of(12L), List.of(), 20L)));
+
+        assertEquals(List.of(1L, 2L, 3L), run("genres = 12", null, 10, 0).ids());
+        assertEquals(List.of(), run("genres = 31 & rating < 80", null, 10, 0).ids());
+        assertEquals(4, index.size());
+    }
+
+    /**
+     * Una version anterior que llega tarde (el arranque la leyo antes de que la sincronizacion
+     * guardara la nueva) no pisa la indexada.
+     */
+    @Test
+    void addAll_shouldIgnoreOlderVersions() {
+        index.addAll(List.of(new IndexedGame(2, "Metroid", 60.0, 300L, List.of(12L), List.of(), 20L)));
+        index.addAll(List.of(new IndexedGame(2, "Metroid", 85.0, 300L, List.of(31L), List.of(6L, 48L), 10L)));
+
+        assertEquals(List.of(1L, 2L, 3L), run("genres = 12", null, 10, 0).ids());
+        assertEquals(List.of(1L), run("rating > 80", null, 10, 0).ids());
+    }
+}
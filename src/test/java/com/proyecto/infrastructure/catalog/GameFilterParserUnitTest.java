@@ -0,0 +1,75 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.infrastructure.catalog.GameFilterPlan.And;
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Compare;
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Contains;
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Field;
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Operator;
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Or;
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Present;
+import com.proyecto.infrastructure.catalog.GameFilterPlan.Sort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameFilterParserUnitTest {
+
+    @Test
+    void parse_shouldReadComparisonsListsAndGroups() {
+        GameFilterPlan plan = GameFilterParser.parse(
+                "rating >= 80 & (genres = (12, 31) | platforms = [6, 48]) & first_release_date != null;",
+                "first_release_date desc").orElseThrow();
+
+        assertEquals(new And(List.of(
+                new Compare(Field.RATING, Operator.GREATER_OR_EQUAL, 80),
+                new Or(List.of(
+                        new Contains(Field.GENRES, false, List.of(12L, 31L)),
+                        new Contains(Field.PLATFORMS, true, List.of(6L, 48L)))),
+                new Present(Field.FIRST_RELEASE_DATE, true))), plan.where());
+        assertEquals(new Sort(Field.FIRST_RELEASE_DATE, true), plan.sort());
+    }
+
+    @Test
+    void parse_shouldAcceptAnEmptyFilterAndSort() {
+        GameFilterPlan plan = GameFilterParser.parse(null, " ").orElseThrow();
+
+        assertEquals(new GameFilterPlan.All(), plan.where());
+        assertNull(plan.sort());
+    }
+
+    @Test
+    void parse_shouldReadSingleIdsAndNegativeDates() {
+        GameFilterPlan plan = GameFilterParser.parse("genres = 12 & first_release_date < -86400", null).orElseThrow();
+
+        assertEquals(new And(List.of(
+                new Contains(Field.GENRES, false, List.of(12L)),
+                new Compare(Field.FIRST_RELEASE_DATE, Operator.LESS, -86400))), plan.where());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "name ~ \"zelda\"*",
+            "rating != 80",
+            "genres != (12)",
+            "genres = {12, 31}",
+            "rating > 80 & genres = 12 | platforms = 6",
+            "(rating > 80",
+            "rating > 80 genres = 12",
+            "total_rating > 80",
+            "rating > abc"
+    })
+    void parse_shouldRejectFiltersOutsideTheSubset(String filter) {
+        assertEquals(Optional.empty(), GameFilterParser.parse(filter, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"name asc", "rating", "genres desc", "rating sideways"})
+    void parse_shouldRejectUnsupportedSorts(String sort) {
+        assertEquals(Optional.empty(), GameFilterParser.parse("rating > 80", sort));
+    }
+}
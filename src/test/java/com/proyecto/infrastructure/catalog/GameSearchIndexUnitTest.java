@@ -0,0 +1,144 @@
+package com.proyecto.infrastructure.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSearchIndexUnitTest {
+
+    private GameSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GameSearchIndex();
+        index.addAll(List.of(
+                new IndexedGame(1, "The Legend of Zelda", 80.0),
+                new IndexedGame(2, "The Legend of Zelda: Breath of the Wild", 97.0),
+                new IndexedGame(3, "Zelda II: The Adventure of Link", 70.0),
+                new IndexedGame(4, "Pokémon Red", 85.0),
+                new IndexedGame(5, "Legend of Mana", 75.0)));
+    }
+
+    @Test
+    void search_shouldRequireEveryWordAndRankShorterNamesFirst() {
+        assertEquals(List.of(1L, 2L), index.search("legend zelda", 10));
+        assertEquals(List.of(1L, 3L, 2L), index.search("zelda", 10));
+    }
+
+    @Test
+    void search_shouldFoldCaseAccentsAndPunctuation() {
+        assertEquals(List.of(4L), index.search("POKEMON", 10));
+        assertEquals(List.of(4L), index.search("pokémon-red!", 10));
+        assertEquals(List.of(2L), index.search("zelda: breath", 10));
+    }
+
+    @Test
+    void search_shouldReturnNothingWhenAWordIsUnknown() {
+        assertEquals(List.of(), index.search("zelda mario", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void search_shouldHonorTheLimit() {
+        assertEquals(List.of(1L), index.search("zelda", 1));
+    }
+
+    @Test
+    void addAll_shouldReindexGamesWhoseNameChanged() {
+        index.addAll(List.of(new IndexedGame(4, "Pokémon Blue", 85.0)));
+
+        assertEquals(List.of(4L), index.search("blue", 10));
+        assertEquals(List.of(), index.search("red", 10));
+        assertEquals(5, index.size());
+    }
+
+    /**
+     * Una version anterior que llega tarde (el arranque la leyo antes de que la sincronizacion
+     * guardara la nueva) no vuelve a poner el nombre viejo.
+     */
+    @Test
+    void addAll_shouldIgnoreOlderVersions() {
+        index.addAll(List.of(new IndexedGame(4, "Pokémon Blue", 85.0, null, List.of(), List.of(), 20L)));
+        index.addAll(List.of(new IndexedGame(4, "Pokémon Red", 85.0, null, List.of(), List.of(), 10L)));
+        index.addAll(List.of(new IndexedGame(4, "Pokémon Green", 85.0)));
+
+        assertEquals(List.of(4L), index.search("blue", 10));
+        assertEquals(List.of(), index.search("red", 10));
+        assertEquals(List.of(), index.search("green", 10));
+    }
+
+    @Test
+    void removeUnversioned_shouldOnlyDropGamesKnownFromIgdbResponses() {
+        index.addAll(List.of(new IndexedGame(6, "Zelda Classic", 60.0, null, List.of(), List.of(), 10L)));
+
+        index.removeUnversioned(List.of(1L, 6L));
+
+        assertEquals(List.of(6L, 3L, 2L), index.search("zelda", 10));
+        assertEquals(5, index.size());
+    }
+
+    /**
+     * Los juegos que entran y salen una y otra vez no dejan el indice lleno de documentos
+     * borrados: al rehacerlo las busquedas siguen igual.
+     */
+    @Test
+    void removeUnversioned_shouldCompactTheIndexWhenMostDocumentsAreDeleted() {
+        for (long round = 0; round < 5; round++) {
+            List<IndexedGame> seen = LongStream.range(100, 1_100)
+                    .mapToObj(id -> new IndexedGame(id, "Seen " + id, null))
+                    .toList();
+            index.addAll(seen);
+            index.removeUnversioned(seen.stream().map(IndexedGame::id).toList());
+        }
+
+        assertEquals(5, index.size());
+        assertEquals(List.of(), index.search("seen", 10));
+        assertEquals(List.of(1L, 3L, 2L), index.search("zelda", 10));
+        assertEquals(List.of(1L, 3L, 2L), index.searchFuzzy("zelad", 10));
+    }
+
+    @Test
+    void searchFuzzy_shouldReplaceMisspelledWordsWithTheClosestKnownOne() {
+        assertEquals(List.of(1L, 3L, 2L), index.searchFuzzy("zelad", 10));
+        assertEquals(List.of(2L), index.searchFuzzy("legnd zelda breth", 10));
+        assertEquals(List.of(4L), index.searchFuzzy("pokmon", 10));
+    }
+
+    @Test
+    void searchFuzzy_shouldKeepExactMatchesAndRejectDistantWords() {
+        assertEquals(index.search("legend", 10), index.searchFuzzy("legend", 10));
+        assertEquals(List.of(), index.searchFuzzy("zelda mario", 10));
+        assertEquals(List.of(), index.searchFuzzy("zx", 10));
+    }
+
+    @Test
+    void searchFuzzy_shouldPreferTheWordThatAppearsInMoreNames() {
+        index.addAll(List.of(
+                new IndexedGame(6, "Mana Khemia", null),
+                new IndexedGame(7, "Trials of Mana", null),
+                new IndexedGame(8, "Maya", null)));
+
+        assertEquals(Set.of(5L, 6L, 7L), Set.copyOf(index.searchFuzzy("mapa", 10)));
+    }
+
+    /**
+     * La interseccion avanza por listas largas a saltos; el resultado debe ser el mismo que
+     * recorriendolas enteras.
+     */
+    @Test
+    void search_shouldIntersectLongPostingLists() {
+        index.addAll(LongStream.range(100, 5100)
+                .mapToObj(id -> new IndexedGame(id, id % 7 == 0 ? "Super Game " + id : "Game " + id, null))
+                .toList());
+
+        List<Long> result = index.search("super game", 1000);
+
+        assertEquals(LongStream.range(100, 5100).filter(id -> id % 7 == 0).count(), result.size());
+        assertTrue(result.stream().allMatch(id -> id % 7 == 0));
+    }
+}
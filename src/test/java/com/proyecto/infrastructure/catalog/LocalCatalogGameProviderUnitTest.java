@@ -0,0 +1,210 @@
+package com.proyecto.infrastructure.catalog;
+
+import com.proyecto.application.port.out.provider.GameProviderInterface;
+import com.proyecto.domain.model.Game;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalCatalogGameProviderUnitTest {
+
+    @Mock
+    private GameCatalogStore catalog;
+
+    @Mock
+    private GameProviderInterface igdb;
+
+    @Mock
+    private IgdbApiConfig apiConfig;
+
+    private GameSearchIndex searchIndex;
+    private GameFilterIndex filterIndex;
+    private CatalogStatus status;
+    private LocalCatalogGameProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(apiConfig.isCatalogSearchEnabled()).thenReturn(true);
+        lenient().when(apiConfig.getCatalogSearchMinHits()).thenReturn(2);
+        lenient().when(apiConfig.isCatalogFilterEnabled()).thenReturn(true);
+        searchIndex = new GameSearchIndex();
+        filterIndex = new GameFilterIndex();
+        status = new CatalogStatus();
+        provider = new LocalCatalogGameProvider(catalog, igdb, searchIndex, filterIndex, status, List.of(searchIndex, filterIndex), apiConfig);
+    }
+
+    private static Game game(long id) {
+        return game(id, "Game " + id);
+    }
+
+    private static Game game(long id, String name) {
+        return new Game(id, name, null, null, null, null, null, List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    @Test
+    void findByExternalId_shouldServeMirroredGamesWithoutCallingIgdb() {
+        when(catalog.findById(1L)).thenReturn(Optional.of(game(1)));
+
+        assertEquals(Optional.of(game(1)), provider.findByExternalId(1L));
+        verifyNoInteractions(igdb);
+    }
+
+    @Test
+    void findByExternalId_shouldFallBackToIgdbForGamesNotMirroredYet() {
+        when(catalog.findById(2L)).thenReturn(Optional.empty());
+        when(igdb.findByExternalId(2L)).thenReturn(Optional.of(game(2)));
+
+        assertEquals(Optional.of(game(2)), provider.findByExternalId(2L));
+    }
+
+    @Test
+    void findMultipleByExternalIds_shouldAskIgdbOnlyForMissingIdsAndKeepRequestOrder() {
+        when(catalog.findAllById(List.of(3L, 1L, 2L))).thenReturn(Map.of(1L, game(1), 3L, game(3)));
+        when(igdb.findMultipleByExternalIds(List.of(2L))).thenReturn(List.of(game(2)));
+
+        List<Game> result = provider.findMultipleByExternalIds(List.of(3L, 1L, 3L, 2L));
+
+        assertEquals(List.of(game(3), game(1), game(2)), result);
+    }
+
+    @Test
+    void findMultipleByExternalIdsAsync_shouldCompleteLocallyWhenEverythingIsMirrored() {
+        when(catalog.findAllById(List.of(1L))).thenReturn(Map.of(1L, game(1)));
+
+        CompletableFuture<List<Game>> result = provider.findMultipleByExternalIdsAsync(List.of(1L));
+
+        assertEquals(List.of(game(1)), result.join());
+        verify(igdb, never()).findMultipleByExternalIdsAsync(any());
+    }
+
+    @Test
+    void searchByName_shouldBeAnsweredLocallyWhenTheIndexHasEnoughHits() {
+        Game zelda = game(1, "The Legend of Zelda");
+        Game botw = game(2, "The Legend of Zelda: Breath of the Wild");
+        searchIndex.addAll(List.of(IndexedGame.of(zelda), IndexedGame.of(botw), IndexedGame.of(game(3, "Metroid"))));
+        when(catalog.findAllById(List.of(1L, 2L))).thenReturn(Map.of(1L, zelda, 2L, botw));
+
+        assertEquals(List.of(zelda, botw), provider.searchByName("Zelda"));
+        verifyNoInteractions(igdb);
+    }
+
+    /**
+     * Con pocos resultados locales se pregunta a IGDB; lo que devuelve se recuerda y la
+     * siguiente busqueda ya no sale del proceso.
+     */
+    @Test
+    void searchByName_shouldFallBackToIgdbAndRememberWhatItReturns() {
+        Game pokemonRed = game(10, "Pokémon Red");
+        Game pokemonBlue = game(11, "Pokémon Blue");
+        when(igdb.searchByName("pokemon")).thenReturn(List.of(pokemonRed, pokemonBlue));
+
+        assertEquals(List.of(pokemonRed, pokemonBlue), provider.searchByName("pokemon"));
+        assertEquals(List.of(pokemonRed, pokemonBlue), provider.searchByName("POKEMON"));
+
+        verify(igdb, times(1)).searchByName(any());
+    }
+
+    @Test
+    void searchByName_shouldGoToIgdbWhenLocalSearchIsDisabled() {
+        when(apiConfig.isCatalogSearchEnabled()).thenReturn(false);
+        provider = new LocalCatalogGameProvider(catalog, igdb, searchIndex, filterIndex, status, List.of(searchIndex, filterIndex), apiConfig);
+        searchIndex.addAll(List.of(IndexedGame.of(game(1, "Zelda")), IndexedGame.of(game(2, "Zelda II"))));
+        when(igdb.searchByName("zelda")).thenReturn(List.of(game(1)));
+
+        assertEquals(List.of(game(1)), provider.searchByName("zelda"));
+    }
+
+    @Test
+    void searchByNameFuzzy_shouldCorrectTyposLocallyWithoutCallingIgdb() {
+        Game witcher = game(20, "The Witcher 3: Wild Hunt");
+        searchIndex.addAll(List.of(IndexedGame.of(witcher), IndexedGame.of(game(21, "Metroid"))));
+        when(catalog.findAllById(List.of(20L))).thenReturn(Map.of(20L, witcher));
+
+        assertEquals(List.of(witcher), provider.searchByNameFuzzy("wticher"));
+        verifyNoInteractions(igdb);
+    }
+
+    @Test
+    void searchByNameFuzzy_shouldFallBackToIgdbWhenNothingIsCloseEnough() {
+        searchIndex.addAll(List.of(IndexedGame.of(game(21, "Metroid"))));
+        when(igdb.searchByName("hollow knight")).thenReturn(List.of(game(22, "Hollow Knight")));
+
+        assertEquals(List.of(game(22, "Hollow Knight")), provider.searchByNameFuzzy("hollow knight"));
+    }
+
+    /**
+     * Los juegos vistos en IGDB que salen de memoria salen tambien del indice; los del
+     * catalogo se quedan.
+     */
+    @Test
+    void searchByName_shouldUnindexIgdbGamesOnceTheyAreNoLongerKept() {
+        when(apiConfig.getCatalogSeenGamesMaxSize()).thenReturn(1L);
+        provider = new LocalCatalogGameProvider(catalog, igdb, searchIndex, filterIndex, status, List.of(searchIndex, filterIndex), apiConfig);
+        searchIndex.addAll(List.of(new IndexedGame(1, "Hollow Knight", null, null, List.of(), List.of(), 10L)));
+        List<Game> fetched = List.of(game(2, "Hollow Knight Silksong"), game(3, "Hollow Knight Voidheart"));
+        when(igdb.searchByName("hollow")).thenReturn(fetched);
+
+        assertEquals(fetched, provider.searchByName("hollow"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> searchIndex.size() == 2);
+        assertTrue(searchIndex.search("hollow", 10).contains(1L));
+    }
+
+    private void indexForFilters(long id, Double rating, List<Long> genreIds) {
+        filterIndex.addAll(List.of(new IndexedGame(id, "Game " + id, rating, null, genreIds, List.of(), 10L)));
+    }
+
+    @Test
+    void filterGames_shouldRunSupportedFiltersLocallyOnceTheCatalogIsComplete() {
+        indexForFilters(1, 90.0, List.of(12L));
+        indexForFilters(2, 70.0, List.of(12L));
+        indexForFilters(3, 95.0, List.of(31L));
+        indexForFilters(4, 85.0, List.of(12L, 31L));
+        status.markIndexesLoaded();
+        status.markCaughtUp();
+        when(catalog.findAllById(List.of(1L))).thenReturn(Map.of(1L, game(1)));
+
+        Page<Game> page = provider.filterGames("genres = (12) & rating > 80", "rating asc", 1, 1);
+
+        assertEquals(List.of(game(1)), page.getContent());
+        assertEquals(2, page.getTotalElements());
+        assertEquals(1, page.getNumber());
+        verifyNoInteractions(igdb);
+    }
+
+    @Test
+    void filterGames_shouldGoToIgdbUntilTheCatalogIsComplete() {
+        indexForFilters(1, 90.0, List.of(12L));
+        status.markIndexesLoaded();
+        Page<Game> fromIgdb = Page.empty();
+        when(igdb.filterGames("rating > 80", null, 10, 0)).thenReturn(fromIgdb);
+
+        assertSame(fromIgdb, provider.filterGames("rating > 80", null, 10, 0));
+    }
+
+    @Test
+    void filterGames_shouldGoToIgdbForUnsupportedFilters() {
+        status.markIndexesLoaded();
+        status.markCaughtUp();
+        Page<Game> fromIgdb = Page.empty();
+        when(igdb.filterGames("name ~ \"zelda\"*", null, 10, 0)).thenReturn(fromIgdb);
+
+        assertSame(fromIgdb, provider.filterGames("name ~ \"zelda\"*", null, 10, 0));
+    }
+}
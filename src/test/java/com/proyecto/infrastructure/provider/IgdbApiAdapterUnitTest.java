@@ -1,11 +1,16 @@
 package com.proyecto.infrastructure.provider;
 
+import com.proyecto.domain.exception.GameProviderRequestException;
+import com.proyecto.domain.exception.GameProviderUnavailableException;
 import com.proyecto.domain.model.Game;
 import com.proyecto.domain.model.Platform;
 import com.proyecto.domain.model.PlatformType;
+import com.proyecto.infrastructure.catalog.CatalogGame;
 import com.proyecto.infrastructure.config.IgdbApiConfig;
-import io.github.bucket4j.BlockingBucket;
-import io.github.bucket4j.Bucket;
+import com.proyecto.infrastructure.provider.IgdbRateLimiter.Priority;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -13,6 +18,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -21,14 +29,25 @@ import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
@@ -52,27 +71,36 @@ class IgdbApiAdapterUnitTest {
     private IgdbApiConfig apiConfig;
 
     @Mock
-    private Bucket rateLimiter;
-
-    @Mock
-    private BlockingBucket blockingBucket;
-
+    private IgdbRateLimiter rateLimiter;
+
+    private RestTemplate restTemplate;
+    private CacheManager cacheManager;
+    private IgdbTokenManager tokenManager;
+    private CircuitBreaker circuitBreaker;
+    private IgdbConcurrencyLimiter concurrencyLimiter;
+    private IgdbRetryPolicy retryPolicy;
+    private IgdbHedgingPolicy hedgingPolicy;
     private MockRestServiceServer mockServer;
     private IgdbApiAdapter adapter;
 
     @BeforeEach
-    void setUp() throws InterruptedException {
+    void setUp() {
         lenient().when(apiConfig.getApiBaseUrl()).thenReturn(BASE_URL);
         lenient().when(apiConfig.getAuthUrl()).thenReturn(AUTH_URL);
         lenient().when(apiConfig.getClientId()).thenReturn(CLIENT_ID);
         lenient().when(apiConfig.getClientSecret()).thenReturn(CLIENT_SECRET);
-
-        lenient().when(rateLimiter.asBlocking()).thenReturn(blockingBucket);
-        lenient().doNothing().when(blockingBucket).consume(1);
-
-        RestTemplate restTemplate = new RestTemplate();
+        // Sin reintentos salvo en los tests de Retrying: cada fallo simulado es definitivo.
+        lenient().when(apiConfig.getRetryMaxAttempts()).thenReturn(1);
+
+        restTemplate = new RestTemplate();
+        cacheManager = new ConcurrentMapCacheManager("igdb-game-by-id", "igdb-games-count-by-filter", "igdb-games-filter-blocks",
+                "igdb-last-known-good");
+        circuitBreaker = CircuitBreaker.ofDefaults("igdb");
+        concurrencyLimiter = new IgdbConcurrencyLimiter(apiConfig, new SimpleMeterRegistry());
+        retryPolicy = new IgdbRetryPolicy(apiConfig, new SimpleMeterRegistry());
+        hedgingPolicy = new IgdbHedgingPolicy(apiConfig, new SimpleMeterRegistry());
         mockServer = MockRestServiceServer.bindTo(restTemplate).build();
-        adapter = new IgdbApiAdapter(apiConfig, restTemplate, rateLimiter);
+        adapter = newAdapter();
     }
 
     @AfterEach
@@ -82,6 +110,12 @@ class IgdbApiAdapterUnitTest {
         Thread.interrupted();
     }
 
+    private IgdbApiAdapter newAdapter() {
+        tokenManager = new IgdbTokenManager(apiConfig, restTemplate, rateLimiter);
+        return new IgdbApiAdapter(apiConfig, restTemplate, rateLimiter, cacheManager, tokenManager, circuitBreaker, concurrencyLimiter,
+                retryPolicy, hedgingPolicy);
+    }
+
     private void expectSuccessfulAuth(String token) {
         mockServer.expect(requestTo(AUTH_URL))
                 .andExpect(method(HttpMethod.POST))
@@ -98,6 +132,31 @@ class IgdbApiAdapterUnitTest {
                         .body("{\"status\":403,\"message\":\"invalid client secret\"}"));
     }
 
+    /** JSON de {@code count} juegos con ids consecutivos a partir de {@code firstId}. */
+    private static String gamesJson(int firstId, int count) {
+        return IntStream.range(firstId, firstId + count)
+                .mapToObj(id -> "{\"id\":" + id + ",\"name\":\"Game " + id + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String multiQueryJson(Long count, Map<Integer, String> blocks) {
+        List<String> queries = new ArrayList<>();
+        if (count != null) {
+            queries.add("{\"name\":\"count\",\"count\":" + count + "}");
+        }
+        blocks.forEach((block, games) -> queries.add("{\"name\":\"block-" + block + "\",\"result\":" + games + "}"));
+        return queries.stream().collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static void awaitLatch(CountDownLatch latch) throws IOException {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
     @Nested
     class Authentication {
 
@@ -163,9 +222,7 @@ class IgdbApiAdapterUnitTest {
         void shouldNotCallIgdbWhenAuthenticationFails() {
             expectFailedAuth();
 
-            Optional<Game> gameResult = adapter.findByExternalId(1L);
-
-            assertTrue(gameResult.isEmpty());
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.findByExternalId(1L));
             mockServer.verify();
         }
 
@@ -173,9 +230,7 @@ class IgdbApiAdapterUnitTest {
         void shouldNotSendBearerNullToPlatformsEndpointWhenAuthFails() {
             expectFailedAuth();
 
-            List<Platform> result = adapter.listPlatforms();
-
-            assertTrue(result.isEmpty());
+            assertThrows(GameProviderUnavailableException.class, adapter::listPlatforms);
             mockServer.verify();
         }
 
@@ -195,47 +250,294 @@ class IgdbApiAdapterUnitTest {
                             .body("{\"status\":403,\"message\":\"invalid client secret\"}"));
 
             adapter.findByExternalId(1L);
-            Optional<Game> secondResult = adapter.findByExternalId(2L);
 
-            assertTrue(secondResult.isEmpty());
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.findByExternalId(2L));
             // Ninguna segunda petición a /games registrada: si el token viejo "tok1" se
             // hubiera reutilizado indebidamente, MockRestServiceServer habría fallado.
             mockServer.verify();
         }
+
+        /**
+         * Un token revocado antes de su caducidad: IGDB responde 401, se descarta y la
+         * consulta se repite una sola vez con un token nuevo.
+         */
+        @Test
+        void shouldReauthenticateAndRepeatTheCallWhenIgdbRejectsTheToken() {
+            expectSuccessfulAuth("tok1");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andExpect(header("Authorization", "Bearer tok1"))
+                    .andRespond(withUnauthorizedRequest());
+            expectSuccessfulAuth("tok2");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andExpect(header("Authorization", "Bearer tok2"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"Zelda\"}]", MediaType.APPLICATION_JSON));
+
+            assertEquals("Zelda", adapter.searchByName("zelda").getFirst().name());
+            assertEquals(Optional.of("tok2"), tokenManager.currentToken());
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldFailAsUnavailableWhenTheNewTokenIsRejectedToo() {
+            expectSuccessfulAuth("tok1");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withUnauthorizedRequest());
+            expectSuccessfulAuth("tok2");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withUnauthorizedRequest());
+
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.searchByName("zelda"));
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldNotDiscardATokenThatWasAlreadyReplaced() {
+            expectSuccessfulAuth("tok1");
+            assertEquals(Optional.of("tok1"), tokenManager.currentToken());
+
+            tokenManager.invalidate("old");
+
+            assertEquals(Optional.of("tok1"), tokenManager.currentToken());
+            mockServer.verify();
+        }
+
+        /**
+         * Dos hilos encuentran el token ausente a la vez: solo debe salir una peticion de
+         * autenticacion, cuyo token usan ambos.
+         */
+        @Test
+        void shouldAllowOnlyOneTokenRefreshInFlight() throws Exception {
+            CountDownLatch authReceived = new CountDownLatch(1);
+            CountDownLatch releaseAuth = new CountDownLatch(1);
+            mockServer = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+            mockServer.expect(ExpectedCount.once(), requestTo(AUTH_URL))
+                    .andRespond(request -> {
+                        authReceived.countDown();
+                        awaitLatch(releaseAuth);
+                        return withSuccess("{\"access_token\":\"tok\",\"expires_in\":3600}", MediaType.APPLICATION_JSON)
+                                .createResponse(request);
+                    });
+            mockServer.expect(ExpectedCount.times(2), requestTo(BASE_URL + "/platforms"))
+                    .andExpect(header("Authorization", "Bearer tok"))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
+                    .andExpect(header("Authorization", "Bearer tok"))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+            Thread first = Thread.ofPlatform().start(adapter::listPlatforms);
+            assertTrue(authReceived.await(5, TimeUnit.SECONDS));
+            Thread second = Thread.ofPlatform().start(() -> adapter.findByExternalId(1L));
+            await().atMost(Duration.ofSeconds(5)).until(() -> second.getState() == Thread.State.WAITING);
+
+            releaseAuth.countDown();
+            first.join(5000);
+            second.join(5000);
+            adapter.listPlatforms();
+
+            mockServer.verify();
+        }
+
+        /**
+         * Un token que dura 2 segundos se renueva en segundo plano antes de caducar (al 90%
+         * de su vida, al ser mas corta que el margen): la peticion posterior ya lleva el token
+         * nuevo sin autenticarse en linea.
+         */
+        @Test
+        void shouldRefreshTokenInBackgroundBeforeItExpires() {
+            mockServer.expect(requestTo(AUTH_URL))
+                    .andRespond(withSuccess("{\"access_token\":\"tok1\",\"expires_in\":2}", MediaType.APPLICATION_JSON));
+            mockServer.expect(requestTo(BASE_URL + "/platforms"))
+                    .andExpect(header("Authorization", "Bearer tok1"))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+            mockServer.expect(requestTo(AUTH_URL))
+                    .andRespond(withSuccess("{\"access_token\":\"tok2\",\"expires_in\":3600}", MediaType.APPLICATION_JSON));
+            mockServer.expect(requestTo(BASE_URL + "/platforms"))
+                    .andExpect(header("Authorization", "Bearer tok2"))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+            adapter.listPlatforms();
+            await().atMost(Duration.ofSeconds(5)).until(() -> tokenManager.currentToken().orElseThrow().equals("tok2"));
+            adapter.listPlatforms();
+
+            mockServer.verify();
+        }
     }
 
     @Nested
     class RateLimiter {
 
         @Test
-        void findByExternalId_shouldReturnEmptyAndNotCallIgdbWhenRateLimiterInterrupted() throws InterruptedException {
-            doThrow(new InterruptedException()).when(blockingBucket).consume(1);
+        void findByExternalId_shouldFailAndNotCallIgdbWhenNoRateLimiterTokenInTime() {
+            doThrow(new GameProviderUnavailableException("timeout")).when(rateLimiter).acquire(any());
 
-            Optional<Game> result = adapter.findByExternalId(1L);
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.findByExternalId(1L));
 
-            assertTrue(result.isEmpty());
-            assertTrue(Thread.currentThread().isInterrupted());
             mockServer.verify(); // ninguna expectativa registrada: cero peticiones HTTP realizadas
         }
 
         @Test
-        void listPlatforms_shouldReturnEmptyAndNotCallIgdbWhenRateLimiterInterrupted() throws InterruptedException {
-            doThrow(new InterruptedException()).when(blockingBucket).consume(1);
+        void listPlatforms_shouldFailAndNotCallIgdbWhenNoRateLimiterTokenInTime() {
+            doThrow(new GameProviderUnavailableException("timeout")).when(rateLimiter).acquire(any());
 
-            List<Platform> result = adapter.listPlatforms();
+            assertThrows(GameProviderUnavailableException.class, adapter::listPlatforms);
 
-            assertTrue(result.isEmpty());
-            assertTrue(Thread.currentThread().isInterrupted());
             mockServer.verify();
         }
 
         @Test
-        void filterGames_shouldReturnEmptyPageAndNotCallIgdbWhenRateLimiterInterrupted() throws InterruptedException {
-            doThrow(new InterruptedException()).when(blockingBucket).consume(1);
+        void filterGames_shouldFailAndNotCallIgdbWhenNoRateLimiterTokenInTime() {
+            doThrow(new GameProviderUnavailableException("timeout")).when(rateLimiter).acquire(any());
 
-            Page<Game> result = adapter.filterGames("rating > 80", "rating desc", 10, 0);
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.filterGames("rating > 80", "rating desc", 10, 0));
 
-            assertTrue(result.isEmpty());
+            mockServer.verify();
+        }
+
+        @Test
+        void requestPath_shouldWaitWithInteractivePriority() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+            adapter.searchByName("zelda");
+
+            verify(rateLimiter).acquire(Priority.AUTH);
+            verify(rateLimiter).acquire(Priority.INTERACTIVE);
+            verify(rateLimiter, never()).acquire(Priority.BACKGROUND);
+        }
+
+        @Test
+        void reload_shouldWaitWithBackgroundPriority() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+            adapter.reload("igdb-games-by-name", "zelda");
+
+            verify(rateLimiter).acquire(Priority.AUTH);
+            verify(rateLimiter).acquire(Priority.BACKGROUND);
+            verify(rateLimiter, never()).acquire(Priority.INTERACTIVE);
+        }
+
+        /**
+         * Superar la espera maxima del rate limiter degrada igual que un fallo de IGDB: se
+         * sirve el ultimo valor conocido de la entrada.
+         */
+        @Test
+        void findByExternalId_shouldServeLastKnownGoodWhenNoRateLimiterTokenInTime() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"Conocido\"}]", MediaType.APPLICATION_JSON));
+            adapter.findByExternalId(1L);
+            cacheManager.getCache("igdb-game-by-id").clear();
+
+            doThrow(new GameProviderUnavailableException("timeout")).when(rateLimiter).acquire(Priority.INTERACTIVE);
+
+            assertEquals("Conocido", adapter.findByExternalId(1L).orElseThrow().name());
+            mockServer.verify();
+        }
+    }
+
+    @Nested
+    class RequestCoalescing {
+
+        /**
+         * Dos hilos piden el mismo id mientras la primera peticion sigue en vuelo: solo debe
+         * salir una llamada a /games (y consumirse un unico token para ella) y ambos hilos
+         * deben recibir el mismo resultado.
+         */
+        @Test
+        void findByExternalId_shouldShareSingleUpstreamCallBetweenConcurrentCallers() throws Exception {
+            CountDownLatch requestReceived = new CountDownLatch(1);
+            CountDownLatch releaseResponse = new CountDownLatch(1);
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
+                    .andRespond(request -> {
+                        requestReceived.countDown();
+                        awaitLatch(releaseResponse);
+                        return withSuccess("[{\"id\":1,\"name\":\"Viral\"}]", MediaType.APPLICATION_JSON)
+                                .createResponse(request);
+                    });
+
+            AtomicReference<Optional<Game>> leaderResult = new AtomicReference<>();
+            AtomicReference<Optional<Game>> followerResult = new AtomicReference<>();
+            Thread leader = Thread.ofPlatform().start(() -> leaderResult.set(adapter.findByExternalId(1L)));
+            assertTrue(requestReceived.await(5, TimeUnit.SECONDS));
+
+            Thread follower = Thread.ofPlatform().start(() -> followerResult.set(adapter.findByExternalId(1L)));
+            await().atMost(Duration.ofSeconds(5)).until(() -> follower.getState() == Thread.State.WAITING);
+
+            releaseResponse.countDown();
+            leader.join(5000);
+            follower.join(5000);
+
+            assertEquals("Viral", leaderResult.get().orElseThrow().name());
+            assertSame(leaderResult.get().orElseThrow(), followerResult.get().orElseThrow());
+            verify(rateLimiter, times(2)).acquire(any()); // autenticacion + una unica peticion a /games
+            mockServer.verify();
+        }
+
+        @Test
+        void findByExternalId_shouldCallUpstreamAgainOnceThePreviousCallHasCompleted() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.times(2), requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"Viral\"}]", MediaType.APPLICATION_JSON));
+
+            adapter.findByExternalId(1L);
+            // Vaciamos la cache por id para que la segunda llamada llegue al single-flight.
+            cacheManager.getCache("igdb-game-by-id").clear();
+            adapter.findByExternalId(1L);
+
+            mockServer.verify();
+        }
+    }
+
+    @Nested
+    class MicroBatching {
+
+        /**
+         * Con una ventana larga y tamaño maximo de lote 2, la segunda busqueda individual
+         * llena el lote y lo despacha: ambas deben resolverse con una unica consulta
+         * "where id = (...)" y recibir cada una su propio juego.
+         */
+        @Test
+        void findByExternalId_shouldResolveConcurrentLookupsWithSingleBatchedQuery() throws Exception {
+            when(apiConfig.getBatchWindowMs()).thenReturn(5_000L);
+            when(apiConfig.getBatchMaxSize()).thenReturn(2);
+            IgdbApiAdapter batchingAdapter = newAdapter();
+
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
+                    .andExpect(content().string(containsString("where id = (")))
+                    .andExpect(content().string(containsString("limit 2;")))
+                    .andRespond(withSuccess(
+                            "[{\"id\":2,\"name\":\"Game Two\"},{\"id\":1,\"name\":\"Game One\"}]",
+                            MediaType.APPLICATION_JSON));
+
+            AtomicReference<Optional<Game>> firstResult = new AtomicReference<>();
+            Thread first = Thread.ofPlatform().start(() -> firstResult.set(batchingAdapter.findByExternalId(1L)));
+            await().atMost(Duration.ofSeconds(5)).until(() -> first.getState() == Thread.State.TIMED_WAITING);
+
+            Optional<Game> secondResult = batchingAdapter.findByExternalId(2L);
+            first.join(5000);
+
+            assertEquals("Game One", firstResult.get().orElseThrow().name());
+            assertEquals("Game Two", secondResult.orElseThrow().name());
+            mockServer.verify();
+        }
+
+        @Test
+        void findByExternalId_shouldResolveIdsMissingFromBatchResponseToEmpty() {
+            when(apiConfig.getBatchWindowMs()).thenReturn(1L);
+            when(apiConfig.getBatchMaxSize()).thenReturn(10);
+            IgdbApiAdapter batchingAdapter = newAdapter();
+
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andExpect(content().string(containsString("where id = (404);")))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+            assertTrue(batchingAdapter.findByExternalId(404L).isEmpty());
             mockServer.verify();
         }
     }
@@ -297,24 +599,32 @@ class IgdbApiAdapterUnitTest {
             assertEquals(Collections.emptyList(), result.get().platforms());
         }
 
+        /**
+         * Un id que IGDB no conoce se cachea como ausente: la siguiente consulta no vuelve a
+         * llamar a IGDB (la expectativa admite una sola peticion).
+         */
         @Test
-        void shouldReturnEmptyWhenIgdbReturnsNoResults() {
+        void shouldReturnEmptyAndCacheMissWhenIgdbReturnsNoResults() {
             expectSuccessfulAuth("tok");
-            mockServer.expect(requestTo(BASE_URL + "/games"))
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
                     .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
 
             assertTrue(adapter.findByExternalId(999L).isEmpty());
+            assertTrue(adapter.findByExternalId(999L).isEmpty());
+
+            assertNotNull(cacheManager.getCache("igdb-game-by-id").get(999L));
+            mockServer.verify();
         }
 
         @Test
-        void shouldReturnEmptyWhenIgdbRespondsWithServerError() {
+        void shouldFailWithoutCachingWhenIgdbRespondsWithServerError() {
             expectSuccessfulAuth("tok");
             mockServer.expect(requestTo(BASE_URL + "/games"))
                     .andRespond(withServerError());
 
-            Optional<Game> result = adapter.findByExternalId(1L);
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.findByExternalId(1L));
 
-            assertTrue(result.isEmpty());
+            assertNull(cacheManager.getCache("igdb-game-by-id").get(1L));
             mockServer.verify();
         }
     }
@@ -353,6 +663,90 @@ class IgdbApiAdapterUnitTest {
             assertEquals("Game One", result.get(0).name());
             assertEquals("Game Two", result.get(1).name());
         }
+
+        @Test
+        void shouldFetchOnlyIdsMissingFromPerGameCacheAndKeepRequestOrder() {
+            Cache gameByIdCache = cacheManager.getCache("igdb-game-by-id");
+            gameByIdCache.put(2L, new Game(2L, "Cached Two", null, null, null, null, null, null, null, null, null, null));
+
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
+                    .andExpect(content().string(containsString("where id = (3,1); limit 2;")))
+                    .andRespond(withSuccess(
+                            "[{\"id\":1,\"name\":\"Game One\"},{\"id\":3,\"name\":\"Game Three\"}]",
+                            MediaType.APPLICATION_JSON));
+
+            List<Game> result = adapter.findMultipleByExternalIds(List.of(3L, 2L, 1L, 3L));
+
+            assertEquals(List.of("Game Three", "Cached Two", "Game One"), result.stream().map(Game::name).toList());
+            assertEquals("Game One", gameByIdCache.get(1L, Game.class).name());
+            assertEquals("Game Three", gameByIdCache.get(3L, Game.class).name());
+            mockServer.verify();
+        }
+
+        /**
+         * Con trozos de 2 ids, una peticion de 3 ids (uno repetido) se divide en dos consultas
+         * lanzadas en paralelo; el orden de llegada no esta garantizado, por eso se ignora el
+         * orden de las expectativas. La autenticacion se hace una sola vez antes de repartir.
+         */
+        @Test
+        void shouldSplitLargeRequestsIntoParallelChunksAndMergeInRequestOrder() {
+            when(apiConfig.getBatchChunkSize()).thenReturn(2);
+            when(apiConfig.getBatchMaxParallelChunks()).thenReturn(2);
+            IgdbApiAdapter chunkingAdapter = newAdapter();
+            mockServer = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
+                    .andExpect(content().string(containsString("where id = (3,1); limit 2;")))
+                    .andRespond(withSuccess(
+                            "[{\"id\":1,\"name\":\"Game One\"},{\"id\":3,\"name\":\"Game Three\"}]",
+                            MediaType.APPLICATION_JSON));
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
+                    .andExpect(content().string(containsString("where id = (2); limit 1;")))
+                    .andRespond(withSuccess("[{\"id\":2,\"name\":\"Game Two\"}]", MediaType.APPLICATION_JSON));
+
+            List<Game> result = chunkingAdapter.findMultipleByExternalIds(List.of(3L, 1L, 3L, 2L));
+
+            assertEquals(List.of("Game Three", "Game One", "Game Two"), result.stream().map(Game::name).toList());
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldNotCallIgdbWhenAllIdsAreCached() {
+            Cache gameByIdCache = cacheManager.getCache("igdb-game-by-id");
+            gameByIdCache.put(1L, new Game(1L, "Cached One", null, null, null, null, null, null, null, null, null, null));
+
+            List<Game> result = adapter.findMultipleByExternalIds(List.of(1L));
+
+            assertEquals("Cached One", result.getFirst().name());
+            mockServer.verify(); // ninguna expectativa registrada: cero peticiones HTTP
+        }
+
+        @Test
+        void shouldFailWithoutCachingWhenIgdbFails() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withServerError());
+
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.findMultipleByExternalIds(List.of(1L)));
+            assertNull(cacheManager.getCache("igdb-game-by-id").get(1L));
+        }
+
+        @Test
+        void shouldCacheIdsMissingFromSuccessfulResponseAsAbsent() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"One\"}]", MediaType.APPLICATION_JSON));
+
+            List<Game> result = adapter.findMultipleByExternalIds(List.of(1L, 404L));
+
+            assertEquals(1, result.size());
+            Cache.ValueWrapper missing = cacheManager.getCache("igdb-game-by-id").get(404L);
+            assertNotNull(missing);
+            assertNull(missing.get());
+            mockServer.verify();
+        }
     }
 
     @Nested
@@ -372,12 +766,12 @@ class IgdbApiAdapterUnitTest {
         }
 
         @Test
-        void shouldReturnEmptyListOnError() {
+        void shouldFailOnError() {
             expectSuccessfulAuth("tok");
             mockServer.expect(requestTo(BASE_URL + "/games"))
                     .andRespond(withServerError());
 
-            assertTrue(adapter.searchByName("anything").isEmpty());
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.searchByName("anything"));
         }
     }
 
@@ -385,11 +779,10 @@ class IgdbApiAdapterUnitTest {
     class FilterGames {
 
         @Test
-        void shouldReturnEmptyPageWithoutFetchingGamesWhenCountIsZero() {
+        void shouldReturnEmptyPageWhenCountIsZero() {
             expectSuccessfulAuth("tok");
-            mockServer.expect(requestTo(BASE_URL + "/games/count"))
-                    .andRespond(withSuccess("{\"count\":0}", MediaType.APPLICATION_JSON));
-            // Sin expectativa para /games: si el adapter la llamara igualmente, el test fallaría.
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/multiquery"))
+                    .andRespond(withSuccess(multiQueryJson(0L, Map.of(0, "[]")), MediaType.APPLICATION_JSON));
 
             Page<Game> result = adapter.filterGames("genres = (12)", null, 10, 0);
 
@@ -397,37 +790,128 @@ class IgdbApiAdapterUnitTest {
             mockServer.verify();
         }
 
+        /**
+         * Total y bloque deben pedirse en una unica peticion a /multiquery (un solo token del
+         * rate limiter ademas del de autenticacion); la pagina pedida se recorta del bloque.
+         */
         @Test
-        void shouldBuildQueryAndReturnPagedResults() {
+        void shouldFetchCountAndAlignedBlockInSingleMultiQuery() {
             expectSuccessfulAuth("tok");
-            mockServer.expect(requestTo(BASE_URL + "/games/count"))
-                    .andExpect(content().string("where rating > 80;"))
-                    .andRespond(withSuccess("{\"count\":25}", MediaType.APPLICATION_JSON));
-            mockServer.expect(requestTo(BASE_URL + "/games"))
-                    .andExpect(content().string(containsString("where rating > 80; sort rating desc; limit 10; offset 10;")))
-                    .andRespond(withSuccess(
-                            "[{\"id\":1,\"name\":\"Game A\"},{\"id\":2,\"name\":\"Game B\"}]",
-                            MediaType.APPLICATION_JSON));
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/multiquery"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andExpect(content().string(containsString("query games/count \"count\" { where rating > 80; };")))
+                    .andExpect(content().string(containsString("query games \"block-0\" { fields ")))
+                    .andExpect(content().string(containsString("where rating > 80; sort rating desc; limit 50; offset 0; };")))
+                    .andRespond(withSuccess(multiQueryJson(25L, Map.of(0, gamesJson(1, 25))), MediaType.APPLICATION_JSON));
 
             Page<Game> result = adapter.filterGames("rating > 80", "rating desc", 10, 10);
 
-            assertEquals(2, result.getContent().size());
+            assertEquals(List.of(11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L), result.getContent().stream().map(Game::id).toList());
             assertEquals(25, result.getTotalElements());
             assertEquals(1, result.getNumber()); // offset 10 / pageSize 10 = página 1 (0-indexada)
             assertEquals(10, result.getSize());
+            verify(rateLimiter, times(2)).acquire(any());
+            mockServer.verify();
         }
 
         @Test
-        void shouldReturnEmptyPageWhenCountRequestFails() {
+        void shouldOmitWhereClauseWhenNoFilterIsGiven() {
             expectSuccessfulAuth("tok");
-            mockServer.expect(requestTo(BASE_URL + "/games/count"))
-                    .andRespond(withServerError());
+            mockServer.expect(requestTo(BASE_URL + "/multiquery"))
+                    .andExpect(content().string(containsString("query games/count \"count\" { };")))
+                    .andRespond(withSuccess(multiQueryJson(1L, Map.of(0, gamesJson(1, 1))), MediaType.APPLICATION_JSON));
 
-            Page<Game> result = adapter.filterGames("rating > 80", null, 10, 0);
+            Page<Game> result = adapter.filterGames(null, null, null, null);
+
+            assertEquals(1, result.getTotalElements());
+            assertEquals(50, result.getSize());
+            mockServer.verify();
+        }
+
+        /**
+         * Un cliente web (offset 0, limit 20) y uno movil (offset 10, limit 30) comparten el
+         * bloque 0; el segundo solo necesita pedir el bloque 0 que ya esta en cache, asi que
+         * no hay segunda llamada. Filtro y orden se normalizan para la clave.
+         */
+        @Test
+        void shouldServeOverlappingWindowsFromCachedBlocks() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/multiquery"))
+                    .andRespond(withSuccess(multiQueryJson(120L, Map.of(0, gamesJson(1, 50))), MediaType.APPLICATION_JSON));
+
+            Page<Game> web = adapter.filterGames("rating > 80", "rating desc", 20, 0);
+            Page<Game> mobile = adapter.filterGames(" rating  >  80; ", "rating desc ", 30, 10);
+
+            assertEquals(20, web.getContent().size());
+            assertEquals(11L, mobile.getContent().getFirst().id());
+            assertEquals(40L, mobile.getContent().getLast().id());
+            assertEquals(120, mobile.getTotalElements());
+            mockServer.verify();
+        }
+
+        /**
+         * Con el total ya en cache, una ventana que cruza dos bloques pide solo el que falta,
+         * sin volver a pedir el total.
+         */
+        @Test
+        void shouldFetchOnlyMissingBlocksWhenCountIsCached() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/multiquery"))
+                    .andRespond(withSuccess(multiQueryJson(120L, Map.of(0, gamesJson(1, 50))), MediaType.APPLICATION_JSON));
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/multiquery"))
+                    .andExpect(content().string(not(containsString("games/count"))))
+                    .andExpect(content().string(containsString("query games \"block-1\" {")))
+                    .andExpect(content().string(containsString("sort name asc; limit 50; offset 50; };")))
+                    .andExpect(content().string(not(containsString("block-0"))))
+                    .andRespond(withSuccess(multiQueryJson(null, Map.of(1, gamesJson(51, 50))), MediaType.APPLICATION_JSON));
+
+            adapter.filterGames("rating > 80", "name asc", 50, 0);
+            Page<Game> result = adapter.filterGames("rating > 80", "name asc", 20, 40);
+
+            assertEquals(41L, result.getContent().getFirst().id());
+            assertEquals(60L, result.getContent().getLast().id());
+            assertEquals(120, result.getTotalElements());
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldNotRequestBlocksBeyondCachedTotal() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/multiquery"))
+                    .andRespond(withSuccess(multiQueryJson(30L, Map.of(0, gamesJson(1, 30))), MediaType.APPLICATION_JSON));
+
+            adapter.filterGames("rating > 80", null, 10, 0);
+            Page<Game> result = adapter.filterGames("rating > 80", null, 10, 60);
+
+            assertTrue(result.getContent().isEmpty());
+            assertEquals(30, result.getTotalElements());
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldNotCallIgdbWhenCachedCountIsZero() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/multiquery"))
+                    .andRespond(withSuccess(multiQueryJson(0L, Map.of(0, "[]")), MediaType.APPLICATION_JSON));
+
+            adapter.filterGames("name = \"Nada\"", null, 10, 0);
+            Page<Game> result = adapter.filterGames("name = \"Nada\"", "name asc", 10, 200);
 
             assertTrue(result.isEmpty());
             mockServer.verify();
         }
+
+        @Test
+        void shouldNotCacheCountOrBlocksWhenMultiQueryFails() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/multiquery"))
+                    .andRespond(withServerError());
+
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.filterGames("rating > 80", null, 10, 0));
+
+            assertNull(cacheManager.getCache("igdb-games-count-by-filter").get("rating > 80"));
+            mockServer.verify();
+        }
     }
 
     @Nested
@@ -454,12 +938,409 @@ class IgdbApiAdapterUnitTest {
         }
 
         @Test
-        void shouldReturnEmptyListOnError() {
+        void shouldFailOnError() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/platforms"))
+                    .andRespond(withServerError());
+
+            assertThrows(GameProviderUnavailableException.class, adapter::listPlatforms);
+        }
+    }
+
+    @Nested
+    class AsyncVariants {
+
+        @Test
+        void findByExternalIdAsync_shouldCompleteOffTheCallingThreadAndShareTheSyncCache() throws Exception {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"Async\"}]", MediaType.APPLICATION_JSON));
+
+            Thread caller = Thread.currentThread();
+            AtomicReference<Thread> loaderThread = new AtomicReference<>();
+            Optional<Game> result = adapter.findByExternalIdAsync(1L)
+                    .whenComplete((_, _) -> loaderThread.compareAndSet(null, Thread.currentThread()))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals("Async", result.orElseThrow().name());
+            assertNotSame(caller, loaderThread.get());
+            // La llamada sincrona posterior sale de la cache que relleno la asincrona.
+            assertEquals("Async", adapter.findByExternalId(1L).orElseThrow().name());
+            mockServer.verify();
+        }
+
+        @Test
+        void listPlatformsAsync_shouldResolveToTheSameResultAsTheSyncCall() throws Exception {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/platforms"))
+                    .andRespond(withSuccess("[{\"id\": 6, \"name\": \"PC\", \"generation\": 4, \"platform_type\": 6}]", MediaType.APPLICATION_JSON));
+
+            List<Platform> result = adapter.listPlatformsAsync().get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of(new Platform(6L, "PC", 4, PlatformType.COMPUTER)), result);
+            mockServer.verify();
+        }
+    }
+
+    @Nested
+    class CacheReload {
+
+        @Test
+        void reload_shouldFetchTheEntryAgainFromIgdb() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andExpect(content().string(containsString("where id = (7)")))
+                    .andRespond(withSuccess("[{\"id\":7,\"name\":\"Refrescado\"}]", MediaType.APPLICATION_JSON));
+
+            Object fresh = adapter.reload("igdb-game-by-id", 7L);
+
+            assertEquals("Refrescado", ((Game) fresh).name());
+            mockServer.verify();
+        }
+
+        /**
+         * Si la recarga falla se propaga el error para que la cache siga sirviendo el valor
+         * anterior en lugar de sustituirlo por un resultado vacio.
+         */
+        @Test
+        void reload_shouldFailInsteadOfReturningAnEmptyValueWhenIgdbFails() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/platforms"))
+                    .andRespond(withServerError());
+
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.reload("igdb-platforms", "ignored"));
+            mockServer.verify();
+        }
+    }
+
+    @Nested
+    class CircuitBreaking {
+
+        @BeforeEach
+        void useSmallWindow() {
+            circuitBreaker = CircuitBreaker.of("igdb", CircuitBreakerConfig.custom()
+                    .slidingWindowSize(2)
+                    .minimumNumberOfCalls(2)
+                    .failureRateThreshold(50)
+                    .waitDurationInOpenState(Duration.ofMinutes(1))
+                    .build());
+            adapter = newAdapter();
+        }
+
+        /**
+         * Tras dos fallos el circuito se abre: la tercera llamada falla al instante, sin
+         * consumir token del rate limiter ni llamar a IGDB.
+         */
+        @Test
+        void shouldFailFastWithoutCallingIgdbOnceOpen() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.times(2), requestTo(BASE_URL + "/games"))
+                    .andRespond(withServerError());
+
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.searchByName("a"));
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.searchByName("b"));
+            assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.searchByName("c"));
+
+            verify(rateLimiter, times(3)).acquire(any()); // autenticacion + las dos llamadas fallidas
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldNotCountClientErrorsAsFailures() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.times(2), requestTo(BASE_URL + "/multiquery"))
+                    .andRespond(withStatus(HttpStatus.BAD_REQUEST));
+
+            assertThrows(GameProviderRequestException.class, () -> adapter.filterGames("bad syntax", null, 10, 0));
+            assertThrows(GameProviderRequestException.class, () -> adapter.filterGames("more bad syntax", null, 10, 0));
+
+            assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+            mockServer.verify();
+        }
+
+        /**
+         * Con la entrada ya caducada en su cache y el circuito abierto, se sirve el ultimo
+         * valor conocido en lugar de fallar.
+         */
+        @Test
+        void shouldServeLastKnownGoodValueWhileOpen() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"Conocido\"}]", MediaType.APPLICATION_JSON));
+            assertEquals("Conocido", adapter.findByExternalId(1L).orElseThrow().name());
+
+            cacheManager.getCache("igdb-game-by-id").clear();
+            circuitBreaker.transitionToOpenState();
+
+            assertEquals("Conocido", adapter.findByExternalId(1L).orElseThrow().name());
+            assertEquals("Conocido", adapter.findMultipleByExternalIds(List.of(1L)).getFirst().name());
+            mockServer.verify();
+        }
+
+        /**
+         * Un filtro mal formado es un error de la peticion: no se responde con el ultimo valor
+         * conocido aunque exista.
+         */
+        @Test
+        void shouldNotServeLastKnownGoodValueForRejectedRequests() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"Zelda\"}]", MediaType.APPLICATION_JSON));
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withBadRequest());
+            // La cache de busquedas no existe en este CacheManager: solo queda el ultimo valor conocido.
+            assertEquals(1, adapter.searchByName("zelda").size());
+
+            assertThrows(GameProviderRequestException.class, () -> adapter.searchByName("zelda"));
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldServeLastKnownGoodFilterPageWhileOpen() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/multiquery"))
+                    .andRespond(withSuccess(multiQueryJson(3L, Map.of(0, gamesJson(1, 3))), MediaType.APPLICATION_JSON));
+            adapter.filterGames("rating > 80", null, 10, 0);
+
+            cacheManager.getCache("igdb-games-count-by-filter").clear();
+            cacheManager.getCache("igdb-games-filter-blocks").clear();
+            circuitBreaker.transitionToOpenState();
+
+            Page<Game> result = adapter.filterGames("rating > 80", null, 10, 0);
+
+            assertEquals(3, result.getTotalElements());
+            assertEquals(3, result.getContent().size());
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldFailWhenOpenAndNoLastKnownGoodValueExists() {
+            circuitBreaker.transitionToOpenState();
+
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.findByExternalId(99L));
+            mockServer.verify();
+        }
+    }
+
+    @Nested
+    class ConcurrencyLimiting {
+
+        @Test
+        void shouldReleaseTheSlotWhetherTheCallSucceedsOrFails() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withServerError());
+
+            adapter.searchByName("a");
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.searchByName("b"));
+
+            assertEquals(0, concurrencyLimiter.getInFlight());
+            mockServer.verify();
+        }
+
+        @Test
+        void serverErrors_shouldShrinkTheLimit() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.times(5), requestTo(BASE_URL + "/games"))
+                    .andRespond(withServerError());
+            int initialLimit = concurrencyLimiter.getLimit();
+
+            for (String name : List.of("a", "b", "c", "d", "e")) {
+                assertThrows(GameProviderUnavailableException.class, () -> adapter.searchByName(name));
+            }
+
+            assertTrue(concurrencyLimiter.getLimit() < initialLimit);
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldFailWithoutCallingIgdbWhenNoSlotIsFreedInTime() {
+            when(apiConfig.getConcurrencyMaxLimit()).thenReturn(1);
+            when(apiConfig.getConcurrencyMaxWaitMs()).thenReturn(20L);
+            concurrencyLimiter = new IgdbConcurrencyLimiter(apiConfig, new SimpleMeterRegistry());
+            adapter = newAdapter();
+            expectSuccessfulAuth("tok");
+            IgdbConcurrencyLimiter.Permit busy = concurrencyLimiter.acquire();
+
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.searchByName("a"));
+
+            busy.onSuccess();
+            mockServer.verify(); // solo la autenticacion: ninguna llamada a /games
+        }
+    }
+
+    @Nested
+    class Retrying {
+
+        @BeforeEach
+        void enableRetries() {
+            when(apiConfig.getRetryMaxAttempts()).thenReturn(3);
+            when(apiConfig.getRetryBaseDelayMs()).thenReturn(1L);
+            retryPolicy = new IgdbRetryPolicy(apiConfig, new SimpleMeterRegistry());
+            adapter = newAdapter();
+        }
+
+        @Test
+        void shouldRetryServerErrorsAndReturnTheEventualResult() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withServerError());
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"Zelda\"}]", MediaType.APPLICATION_JSON));
+
+            assertEquals("Zelda", adapter.searchByName("zelda").getFirst().name());
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldHonorRetryAfterOnTooManyRequests() {
             expectSuccessfulAuth("tok");
             mockServer.expect(requestTo(BASE_URL + "/platforms"))
+                    .andRespond(withTooManyRequests().header("Retry-After", "0"));
+            mockServer.expect(requestTo(BASE_URL + "/platforms"))
+                    .andRespond(withSuccess("[{\"id\":6,\"name\":\"PC\"}]", MediaType.APPLICATION_JSON));
+
+            assertEquals(1, adapter.listPlatforms().size());
+            mockServer.verify();
+        }
+
+        /**
+         * Un Retry-After mayor que la espera maxima no se respeta esperando: se falla ya y se
+         * sirve lo que haya en cache.
+         */
+        @Test
+        void shouldNotRetryWhenRetryAfterExceedsTheMaximumDelay() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/platforms"))
+                    .andRespond(withTooManyRequests().header("Retry-After", "120"));
+
+            assertThrows(GameProviderUnavailableException.class, adapter::listPlatforms);
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldNotRetryClientErrors() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
+                    .andRespond(withBadRequest());
+
+            assertThrows(GameProviderRequestException.class, () -> adapter.searchByName("zelda"));
+            mockServer.verify();
+        }
+
+        @Test
+        void shouldGiveUpAfterMaxAttempts() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.times(3), requestTo(BASE_URL + "/games"))
                     .andRespond(withServerError());
 
-            assertTrue(adapter.listPlatforms().isEmpty());
+            assertThrows(GameProviderUnavailableException.class, () -> adapter.searchByName("zelda"));
+            mockServer.verify();
+        }
+    }
+
+    @Nested
+    class Hedging {
+
+        private SimpleMeterRegistry meterRegistry;
+
+        @BeforeEach
+        void enableHedging() {
+            when(apiConfig.isHedgingEnabled()).thenReturn(true);
+            when(apiConfig.getHedgingMinSamples()).thenReturn(1);
+            when(apiConfig.getHedgingMinDelayMs()).thenReturn(50L);
+            meterRegistry = new SimpleMeterRegistry();
+            hedgingPolicy = new IgdbHedgingPolicy(apiConfig, meterRegistry);
+            hedgingPolicy.recordLatency("/games", TimeUnit.MILLISECONDS.toNanos(10));
+            adapter = newAdapter();
+        }
+
+        /**
+         * La consulta original se queda colgada; pasados 50 ms se duplica y se usa la
+         * respuesta de la copia. La original se cancela sin contar como fallo de IGDB.
+         */
+        @Test
+        void slowCall_shouldBeHedgedAndTheFirstResponseUsed() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(request -> {
+                        try {
+                            Thread.sleep(5_000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException("Request interrupted", e);
+                        }
+                        return withSuccess("[]", MediaType.APPLICATION_JSON).createResponse(request);
+                    });
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"Zelda\"}]", MediaType.APPLICATION_JSON));
+
+            long start = System.nanoTime();
+            List<Game> result = adapter.searchByName("zelda");
+
+            assertEquals("Zelda", result.getFirst().name());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertEquals(1, meterRegistry.get("igdb.hedging.wins").counter().count());
+            await().atMost(Duration.ofSeconds(2)).until(() -> concurrencyLimiter.getInFlight() == 0);
+            assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        }
+
+        @Test
+        void fastCall_shouldNotBeHedged() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(ExpectedCount.once(), requestTo(BASE_URL + "/games"))
+                    .andRespond(withSuccess("[{\"id\":1,\"name\":\"Zelda\"}]", MediaType.APPLICATION_JSON));
+
+            adapter.searchByName("zelda");
+
+            mockServer.verify();
+            assertEquals(0, meterRegistry.get("igdb.hedging.hedges").counter().count());
+        }
+    }
+
+    @Nested
+    class CatalogSync {
+
+        @Test
+        void fetchGamesUpdatedAfter_shouldPageByUpdatedAtAndKeepIgdbIds() {
+            expectSuccessfulAuth("tok");
+            String json = """
+                [
+                  {"id": 7, "name": "Zelda", "first_release_date": 1488499200, "updated_at": 1700000000,
+                   "genres": [{"id": 12, "name": "RPG"}], "platforms": [{"id": 130, "name": "Switch"}]}
+                ]
+                """;
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andExpect(content().string(containsString("updated_at;")))
+                    .andExpect(content().string(containsString("where updated_at > 1600000000; sort updated_at asc; limit 500;")))
+                    .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+
+            List<CatalogGame> result = adapter.fetchGamesUpdatedAfter(1600000000L, 500);
+
+            assertEquals(1, result.size());
+            CatalogGame game = result.getFirst();
+            assertEquals(7L, game.id());
+            assertEquals(1700000000L, game.updatedAt());
+            assertEquals(1488499200L, game.firstReleaseDate());
+            assertEquals(List.of(12L), game.genreIds());
+            assertEquals(List.of(130L), game.platformIds());
+            assertEquals(List.of("RPG"), game.game().genres());
+            verify(rateLimiter).acquire(Priority.BACKGROUND);
+        }
+
+        @Test
+        void fetchGamesUpdatedAt_shouldWalkTiesById() {
+            expectSuccessfulAuth("tok");
+            mockServer.expect(requestTo(BASE_URL + "/games"))
+                    .andExpect(content().string(containsString("where updated_at = 50 & id > 3; sort id asc; limit 2;")))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+            assertTrue(adapter.fetchGamesUpdatedAt(50, 3, 2).isEmpty());
+            mockServer.verify();
         }
     }
 }
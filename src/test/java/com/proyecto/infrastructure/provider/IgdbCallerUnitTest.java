@@ -0,0 +1,66 @@
+package com.proyecto.infrastructure.provider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IgdbCallerUnitTest {
+
+    // Otros tests dejan un SecurityContext en el hilo; cada test empieza sin el.
+    @BeforeEach
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void bindRequestFrom(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Test
+    void current_shouldUseAuthenticatedUserBeforeClientIp() {
+        bindRequestFrom("10.0.0.1");
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("ana@example.com", null, List.of()));
+
+        assertEquals("user:ana@example.com", IgdbCaller.current());
+    }
+
+    @Test
+    void current_shouldUseClientIpForAnonymousRequests() {
+        bindRequestFrom("10.0.0.1");
+
+        assertEquals("ip:10.0.0.1", IgdbCaller.current());
+    }
+
+    @Test
+    void current_shouldAttributeWorkOutsideRequestsToSystem() {
+        assertEquals(IgdbCaller.SYSTEM, IgdbCaller.current());
+    }
+
+    @Test
+    void propagate_shouldKeepTheCallerInAnotherThread() throws Exception {
+        bindRequestFrom("10.0.0.1");
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            String caller = CompletableFuture.supplyAsync(IgdbCaller.propagate(IgdbCaller::current), executor).get();
+
+            assertEquals("ip:10.0.0.1", caller);
+        }
+    }
+}
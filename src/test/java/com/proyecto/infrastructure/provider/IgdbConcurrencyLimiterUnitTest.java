@@ -0,0 +1,131 @@
+package com.proyecto.infrastructure.provider;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class IgdbConcurrencyLimiterUnitTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Mock
+    private IgdbApiConfig apiConfig;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(apiConfig.getConcurrencyInitialLimit()).thenReturn(4);
+        lenient().when(apiConfig.getConcurrencyMinLimit()).thenReturn(1);
+        lenient().when(apiConfig.getConcurrencyMaxLimit()).thenReturn(16);
+        lenient().when(apiConfig.getConcurrencyMaxWaitMs()).thenReturn(50L);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private IgdbConcurrencyLimiter newLimiter() {
+        return new IgdbConcurrencyLimiter(apiConfig, meterRegistry);
+    }
+
+    @Test
+    void acquire_shouldFailOnceTheLimitIsTakenForLongerThanMaxWait() {
+        IgdbConcurrencyLimiter limiter = newLimiter();
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        assertThrows(GameProviderUnavailableException.class, limiter::acquire);
+
+        assertEquals(1, meterRegistry.get("igdb.concurrency.rejected").counter().count());
+        assertEquals(4, meterRegistry.get("igdb.concurrency.in_flight").gauge().value());
+    }
+
+    @Test
+    void acquire_shouldProceedWhenASlotIsReleasedWhileWaiting() throws Exception {
+        lenient().when(apiConfig.getConcurrencyMaxWaitMs()).thenReturn(5000L);
+        lenient().when(apiConfig.getConcurrencyInitialLimit()).thenReturn(1);
+        IgdbConcurrencyLimiter limiter = newLimiter();
+        IgdbConcurrencyLimiter.Permit first = limiter.acquire();
+
+        CompletableFuture<IgdbConcurrencyLimiter.Permit> second = CompletableFuture.supplyAsync(limiter::acquire);
+        Thread.sleep(50);
+        assertFalse(second.isDone());
+
+        first.onSuccess();
+        second.get(5, TimeUnit.SECONDS).onSuccess();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void permit_shouldOnlyBeReleasedOnce() {
+        IgdbConcurrencyLimiter limiter = newLimiter();
+        IgdbConcurrencyLimiter.Permit permit = limiter.acquire();
+
+        permit.onSuccess();
+        permit.onDropped();
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(4, limiter.getLimit()); // el onDropped posterior no reduce el limite
+    }
+
+    @Test
+    void limit_shouldGrowWhileLatencyIsStableAndTheLimitIsInUse() {
+        IgdbConcurrencyLimiter limiter = newLimiter();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(100 * MS, limiter.getLimit(), false);
+        }
+
+        assertEquals(16, limiter.getLimit());
+        assertEquals(16, meterRegistry.get("igdb.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void limit_shouldNotGrowWhileMostOfItIsUnused() {
+        IgdbConcurrencyLimiter limiter = newLimiter();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(100 * MS, 1, false);
+        }
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void limit_shouldShrinkWhenLatencyRises() {
+        IgdbConcurrencyLimiter limiter = newLimiter();
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(100 * MS, limiter.getLimit(), false);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(1000 * MS, limiter.getLimit(), false);
+        }
+
+        assertTrue(limiter.getLimit() < 16, "limit was " + limiter.getLimit());
+    }
+
+    @Test
+    void limit_shouldBackOffOnErrorsDownToTheMinimum() {
+        IgdbConcurrencyLimiter limiter = newLimiter();
+
+        limiter.onSample(100 * MS, 4, true);
+        assertEquals(3, limiter.getLimit()); // 4 * 0.9 = 3.6
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(100 * MS, 1, true);
+        }
+        assertEquals(1, limiter.getLimit());
+    }
+}
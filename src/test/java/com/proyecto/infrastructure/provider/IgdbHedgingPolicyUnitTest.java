@@ -0,0 +1,137 @@
+package com.proyecto.infrastructure.provider;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class IgdbHedgingPolicyUnitTest {
+
+    private static final String PATH = "/games";
+
+    @Mock
+    private IgdbApiConfig apiConfig;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(apiConfig.isHedgingEnabled()).thenReturn(true);
+        lenient().when(apiConfig.getHedgingPercentile()).thenReturn(90.0);
+        lenient().when(apiConfig.getHedgingMinDelayMs()).thenReturn(1L);
+        lenient().when(apiConfig.getHedgingMinSamples()).thenReturn(10);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void hedgeDelay_shouldFollowThePercentileOnceThereAreEnoughSamples() {
+        IgdbHedgingPolicy policy = new IgdbHedgingPolicy(apiConfig, meterRegistry);
+        for (int ms = 1; ms <= 9; ms++) {
+            policy.recordLatency(PATH, TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+        assertEquals(-1, policy.hedgeDelayNanos(PATH));
+
+        policy.recordLatency(PATH, TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(9), policy.hedgeDelayNanos(PATH));
+        assertEquals(-1, policy.hedgeDelayNanos("/platforms"));
+    }
+
+    @Test
+    void hedgeDelay_shouldNotDropBelowTheMinimumDelay() {
+        lenient().when(apiConfig.getHedgingMinDelayMs()).thenReturn(50L);
+        IgdbHedgingPolicy policy = new IgdbHedgingPolicy(apiConfig, meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            policy.recordLatency(PATH, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(50), policy.hedgeDelayNanos(PATH));
+    }
+
+    @Test
+    void execute_shouldReturnTheSecondCallIfTheFirstFails() {
+        IgdbHedgingPolicy policy = new IgdbHedgingPolicy(apiConfig, meterRegistry);
+        warmUp(policy);
+        CountDownLatch hedgeStarted = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy.execute(PATH, () -> {
+            if (calls.incrementAndGet() == 1) {
+                awaitQuietly(hedgeStarted);
+                throw new GameProviderUnavailableException("boom");
+            }
+            hedgeStarted.countDown();
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(1, meterRegistry.get("igdb.hedging.wins").counter().count());
+    }
+
+    /**
+     * El presupuesto empieza lleno, con 5 consultas duplicadas; con el 5% por consulta, las
+     * 15 siguientes no llegan a añadir otra. La ventana se llena de latencias bajas para que las
+     * lentas no suban la mediana durante el test.
+     */
+    @Test
+    void execute_shouldStopHedgingOnceTheBudgetIsSpent() {
+        lenient().when(apiConfig.getHedgingPercentile()).thenReturn(50.0);
+        IgdbHedgingPolicy policy = new IgdbHedgingPolicy(apiConfig, meterRegistry);
+        for (int i = 0; i < IgdbHedgingPolicy.WINDOW_SIZE; i++) {
+            policy.recordLatency(PATH, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            policy.execute(PATH, () -> {
+                sleepQuietly(20);
+                return "slow";
+            });
+        }
+
+        assertEquals(5, meterRegistry.get("igdb.hedging.hedges").counter().count());
+        assertEquals(15, meterRegistry.get("igdb.hedging.budget_exhausted").counter().count());
+    }
+
+    @Test
+    void execute_shouldCallDirectlyWhenDisabled() {
+        lenient().when(apiConfig.isHedgingEnabled()).thenReturn(false);
+        IgdbHedgingPolicy policy = new IgdbHedgingPolicy(apiConfig, meterRegistry);
+        Thread caller = Thread.currentThread();
+
+        assertSame(caller, policy.execute(PATH, Thread::currentThread));
+    }
+
+    private static void warmUp(IgdbHedgingPolicy policy) {
+        for (int i = 0; i < 10; i++) {
+            policy.recordLatency(PATH, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.proyecto.infrastructure.provider;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import com.proyecto.infrastructure.provider.IgdbRateLimiter.Priority;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class IgdbRateLimiterUnitTest {
+
+    @Mock
+    private IgdbApiConfig apiConfig;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IgdbRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(apiConfig.getRateLimitAuthMaxWaitMs()).thenReturn(5000L);
+        lenient().when(apiConfig.getRateLimitInteractiveMaxWaitMs()).thenReturn(5000L);
+        lenient().when(apiConfig.getRateLimitBackgroundMaxWaitMs()).thenReturn(5000L);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (limiter != null) {
+            limiter.shutdown();
+        }
+    }
+
+    /**
+     * Bucket de un solo token que se repone cada {@code refill}.
+     */
+    private IgdbRateLimiter newLimiter(Duration refill) {
+        Bucket bucket = Bucket.builder()
+                .addLimit(limit -> limit.capacity(1).refillIntervally(1, refill))
+                .build();
+        limiter = new IgdbRateLimiter(bucket, apiConfig, meterRegistry);
+        return limiter;
+    }
+
+    private double queueSize(Priority priority) {
+        return meterRegistry.get("igdb.rate_limiter.queue").tag("priority", priority.name().toLowerCase()).gauge().value();
+    }
+
+    @Test
+    void acquire_shouldGrantImmediatelyWhenTokenAvailable() {
+        newLimiter(Duration.ofMinutes(10));
+
+        limiter.acquire(Priority.INTERACTIVE);
+
+        assertEquals(1, meterRegistry.get("igdb.rate_limiter.wait").tag("priority", "interactive").timer().count());
+        assertEquals(0, queueSize(Priority.INTERACTIVE));
+    }
+
+    @Test
+    void acquireAsync_shouldQueueWithoutBlockingWhenNoTokenLeft() {
+        newLimiter(Duration.ofMinutes(10));
+        limiter.acquire(Priority.INTERACTIVE);
+
+        CompletableFuture<Void> permit = limiter.acquireAsync(Priority.BACKGROUND);
+
+        assertFalse(permit.isDone());
+        assertEquals(1, queueSize(Priority.BACKGROUND));
+    }
+
+    /**
+     * Con el bucket vacio, cada token que se repone va a la cola mas prioritaria aunque sus
+     * peticiones llegaran despues.
+     */
+    @Test
+    void shouldGrantRefilledTokensInPriorityOrder() {
+        newLimiter(Duration.ofMillis(200));
+        limiter.acquire(Priority.INTERACTIVE);
+
+        List<Priority> granted = new CopyOnWriteArrayList<>();
+        for (Priority priority : List.of(Priority.BACKGROUND, Priority.INTERACTIVE, Priority.AUTH)) {
+            limiter.acquireAsync(priority).thenRun(() -> granted.add(priority));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> granted.size() == 3);
+        assertEquals(List.of(Priority.AUTH, Priority.INTERACTIVE, Priority.BACKGROUND), granted);
+    }
+
+    /**
+     * Un llamador con muchas peticiones encoladas no retrasa a otro de la misma prioridad
+     * que llega despues: los tokens se reparten por turnos entre ambos.
+     */
+    @Test
+    void shouldShareTokensRoundRobinBetweenCallersOfTheSamePriority() {
+        newLimiter(Duration.ofMillis(100));
+        limiter.acquire(Priority.INTERACTIVE);
+
+        List<String> granted = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            IgdbCaller.callAs("ip:10.0.0.1", () -> limiter.acquireAsync(Priority.INTERACTIVE))
+                    .thenRun(() -> granted.add("script"));
+        }
+        IgdbCaller.callAs("user:ana@example.com", () -> limiter.acquireAsync(Priority.INTERACTIVE))
+                .thenRun(() -> granted.add("ana"));
+
+        assertEquals(4, queueSize(Priority.INTERACTIVE));
+        assertEquals(2, meterRegistry.get("igdb.rate_limiter.callers").tag("priority", "interactive").gauge().value());
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> granted.size() == 4);
+        assertEquals(List.of("script", "ana", "script", "script"), granted);
+    }
+
+    @Test
+    void acquire_shouldFailOnceMaxWaitIsExceeded() {
+        lenient().when(apiConfig.getRateLimitInteractiveMaxWaitMs()).thenReturn(50L);
+        newLimiter(Duration.ofMinutes(10));
+        limiter.acquire(Priority.INTERACTIVE);
+
+        assertThrows(GameProviderUnavailableException.class, () -> limiter.acquire(Priority.INTERACTIVE));
+
+        assertEquals(1, meterRegistry.get("igdb.rate_limiter.rejected").tag("priority", "interactive").counter().count());
+        assertEquals(0, queueSize(Priority.INTERACTIVE));
+    }
+
+    /**
+     * Una peticion que ya fallo por tiempo no consume el token que se repone despues: va a
+     * la siguiente de la cola.
+     */
+    @Test
+    void timedOutWaiter_shouldNotConsumeLaterTokens() throws Exception {
+        lenient().when(apiConfig.getRateLimitInteractiveMaxWaitMs()).thenReturn(50L);
+        newLimiter(Duration.ofMillis(300));
+        limiter.acquire(Priority.INTERACTIVE);
+
+        CompletableFuture<Void> timedOut = limiter.acquireAsync(Priority.INTERACTIVE);
+        CompletableFuture<Void> background = limiter.acquireAsync(Priority.BACKGROUND);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> timedOut.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(GameProviderUnavailableException.class, failure.getCause());
+        background.get(5, TimeUnit.SECONDS);
+        assertEquals(0, queueSize(Priority.BACKGROUND));
+    }
+
+    @Test
+    void acquire_shouldRestoreInterruptFlagAndFailWhenInterrupted() {
+        newLimiter(Duration.ofMinutes(10));
+        limiter.acquire(Priority.INTERACTIVE);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(GameProviderUnavailableException.class, () -> limiter.acquire(Priority.INTERACTIVE));
+            assertTrue(Thread.currentThread().isInterrupted());
+            assertEquals(0, queueSize(Priority.INTERACTIVE));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.proyecto.infrastructure.provider;
+
+import com.proyecto.domain.exception.GameProviderUnavailableException;
+import com.proyecto.infrastructure.config.IgdbApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class IgdbRetryPolicyUnitTest {
+
+    @Mock
+    private IgdbApiConfig apiConfig;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(apiConfig.getRetryMaxAttempts()).thenReturn(3);
+        lenient().when(apiConfig.getRetryBaseDelayMs()).thenReturn(1L);
+        lenient().when(apiConfig.getRetryBudgetPercent()).thenReturn(10L);
+        lenient().when(apiConfig.getRetryBudgetMinPerSecond()).thenReturn(1L);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private static GameProviderUnavailableException serverError() {
+        return new GameProviderUnavailableException("boom", new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+    }
+
+    @Test
+    void execute_shouldRetryNetworkErrors() {
+        IgdbRetryPolicy policy = new IgdbRetryPolicy(apiConfig, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new GameProviderUnavailableException("io", new ResourceAccessException("reset"));
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1, meterRegistry.get("igdb.retry.attempts").counter().count());
+    }
+
+    @Test
+    void execute_shouldNotRetryFailuresThatAreNotFromIgdb() {
+        IgdbRetryPolicy policy = new IgdbRetryPolicy(apiConfig, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(GameProviderUnavailableException.class, () -> policy.execute(() -> {
+            calls.incrementAndGet();
+            throw new GameProviderUnavailableException("circuit breaker is open");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Con IGDB caido, el presupuesto (10 reintentos de reserva mas un 10% de las consultas)
+     * se agota y el resto de consultas fallan sin reintentar.
+     */
+    @Test
+    void execute_shouldStopRetryingOnceTheBudgetIsSpent() {
+        IgdbRetryPolicy policy = new IgdbRetryPolicy(apiConfig, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 20; i++) {
+            assertThrows(GameProviderUnavailableException.class, () -> policy.execute(() -> {
+                calls.incrementAndGet();
+                throw serverError();
+            }));
+        }
+
+        // 20 consultas con hasta 2 reintentos cada una serian 60 llamadas sin presupuesto.
+        assertTrue(calls.get() <= 20 + 12, "calls: " + calls.get());
+        assertTrue(meterRegistry.get("igdb.retry.budget_exhausted").counter().count() > 0);
+    }
+}